@@ -0,0 +1,57 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.configuration.AuthenticationCacheProperties;
+import com.jgb.recipesystem.security.CachingAuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthenticationBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.AuthenticationBenchmark</code>
+ * <br>
+ * Cost of verifying the HTTP Basic credentials of a request, with and without the cache of verified credentials.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmark {
+
+    private DaoAuthenticationProvider bcryptProvider;
+    private CachingAuthenticationProvider cachingProvider;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        bcryptProvider = new DaoAuthenticationProvider();
+        bcryptProvider.setPasswordEncoder(passwordEncoder);
+        bcryptProvider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("password")).roles("USER").build()));
+        cachingProvider = new CachingAuthenticationProvider(bcryptProvider, new AuthenticationCacheProperties());
+        cachingProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication bcrypt() {
+        return bcryptProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return cachingProvider.authenticate(credentials());
+    }
+
+    private static Authentication credentials() {
+        return new UsernamePasswordAuthenticationToken("user", "password");
+    }
+}
@@ -0,0 +1,68 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.database.entity.Ingredient;
+import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.model.RecipeDTO;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RecipeFixtures
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeFixtures</code>
+ * <br>
+ * Recipes of configurable size shared by the benchmarks.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+final class RecipeFixtures {
+
+    private static final String INSTRUCTIONS_SENTENCE = "Spread the sauce evenly and bake for 15 minutes at 200C. ";
+
+    private RecipeFixtures() {
+    }
+
+    static RecipeDTO recipeDTO(String name, int ingredientCount, int instructionsLength) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(4);
+        recipeDTO.setIngredients(ingredientNames(ingredientCount));
+        recipeDTO.setCookingInstructions(instructions(instructionsLength));
+        return recipeDTO;
+    }
+
+    static Recipe recipe(String name, int ingredientCount, int instructionsLength) {
+        Recipe recipe = new Recipe();
+        recipe.setId(1L);
+        recipe.setName(name);
+        recipe.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        recipe.setVegetarian(true);
+        recipe.setServings(4);
+        List<Ingredient> ingredients = new ArrayList<>(ingredientCount);
+        for (String ingredientName : ingredientNames(ingredientCount)) {
+            Ingredient ingredient = new Ingredient(ingredientName);
+            ingredient.setId(ingredients.size() + 1L);
+            ingredients.add(ingredient);
+        }
+        recipe.setIngredients(ingredients);
+        recipe.setCookingInstructions(instructions(instructionsLength));
+        return recipe;
+    }
+
+    static List<String> ingredientNames(int ingredientCount) {
+        List<String> ingredients = new ArrayList<>(ingredientCount);
+        for (int i = 0; i < ingredientCount; i++) {
+            ingredients.add("ingredient number " + i);
+        }
+        return ingredients;
+    }
+
+    private static String instructions(int length) {
+        return INSTRUCTIONS_SENTENCE.repeat(length / INSTRUCTIONS_SENTENCE.length() + 1).substring(0, length);
+    }
+}
@@ -0,0 +1,89 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.RecipeSystemApplication;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.service.RecipeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecipeIdAllocationBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeIdAllocationBenchmark</code>
+ * <br>
+ * Throughput of concurrent recipe creation with the recipe id allocated from the hibernate_sequence table one insert
+ * at a time, as GenerationType.AUTO did, against pooled-lo blocks of {@link com.jgb.recipesystem.database.entity.Recipe#ID_ALLOCATION_SIZE}.
+ * The benchmark profile uses the MySQL dialect so that both read and lock the table row, as they do on MySQL, instead
+ * of an H2 sequence. The setup checks that the allocation being measured is the one in effect, so that a mapping
+ * that did not apply fails the run instead of measuring the same allocation twice.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RecipeIdAllocationBenchmark {
+
+    @Param({"auto", "pooled-lo"})
+    private String idAllocation;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private final AtomicLong nameSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws DuplicateEntryException {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(RecipeSystemApplication.class)
+                .profiles("benchmark")
+                .properties("server.port=0");
+        if (idAllocation.equals("auto")) {
+            application.properties("spring.jpa.mapping-resources=META-INF/orm-auto-recipe-id.xml");
+        }
+        context = application.run();
+        recipeService = context.getBean(RecipeService.class);
+        // puts the ingredients in the dictionary, so that the measured creates only allocate recipe ids
+        recipeService.createRecipe(newRecipe());
+        checkIdAllocation(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void createRecipeConcurrently() throws DuplicateEntryException {
+        recipeService.createRecipe(newRecipe());
+    }
+
+    /**
+     * One by one, every insert moves hibernate_sequence on by one. Pooled-lo reserved a block with the first insert
+     * and takes the next ids from it without touching the table
+     */
+    private void checkIdAllocation(JdbcTemplate jdbcTemplate) throws DuplicateEntryException {
+        long before = nextSequenceValue(jdbcTemplate);
+        recipeService.createRecipe(newRecipe());
+        long moved = nextSequenceValue(jdbcTemplate) - before;
+        long expected = idAllocation.equals("auto") ? 1 : 0;
+        if (moved != expected) {
+            throw new IllegalStateException("Recipe ids are not allocated " + idAllocation + ", one insert moved "
+                    + "hibernate_sequence by " + moved + " instead of " + expected);
+        }
+    }
+
+    private static long nextSequenceValue(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select next_val from hibernate_sequence", Long.class);
+    }
+
+    private RecipeDTO newRecipe() {
+        return RecipeFixtures.recipeDTO("id_benchmark_" + nameSequence.incrementAndGet(), 3, 100);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeJsonBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeJsonBenchmark</code>
+ * <br>
+ * Cost of writing and reading a recipe as JSON, with an object mapper configured like the one of the application.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecipeJsonBenchmark {
+
+    @Param({"3", "200"})
+    private int ingredientCount;
+
+    @Param({"100", "2000"})
+    private int instructionsLength;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private RecipeDTO recipeDTO;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        recipeDTO = RecipeFixtures.recipeDTO("four_cheese_pizza", ingredientCount, instructionsLength);
+        recipeDTO.setCreationDateTime("18-10-2026 10:30");
+        json = objectMapper.writeValueAsBytes(recipeDTO);
+    }
+
+    @Benchmark
+    public byte[] writeRecipe() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(recipeDTO);
+    }
+
+    @Benchmark
+    public RecipeDTO readRecipe() throws IOException {
+        return objectMapper.readValue(json, RecipeDTO.class);
+    }
+}
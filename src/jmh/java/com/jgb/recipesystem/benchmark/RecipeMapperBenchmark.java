@@ -0,0 +1,49 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeMapperBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeMapperBenchmark</code>
+ * <br>
+ * Cost of mapping a recipe between its entity and its DTO.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecipeMapperBenchmark {
+
+    @Param({"3", "200"})
+    private int ingredientCount;
+
+    @Param({"100", "2000"})
+    private int instructionsLength;
+
+    private Recipe recipe;
+    private RecipeDTO recipeDTO;
+
+    @Setup
+    public void setUp() {
+        recipe = RecipeFixtures.recipe("four_cheese_pizza", ingredientCount, instructionsLength);
+        recipeDTO = RecipeFixtures.recipeDTO("four_cheese_pizza", ingredientCount, instructionsLength);
+    }
+
+    @Benchmark
+    public RecipeDTO toRecipeDTO() {
+        return RecipeMapper.MAPPER.toRecipeDTO(recipe);
+    }
+
+    @Benchmark
+    public Recipe toRecipeEntity() {
+        return RecipeMapper.MAPPER.toRecipeEntity(recipeDTO);
+    }
+}
@@ -0,0 +1,74 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.RecipeSystemApplication;
+import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.service.RecipeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeReadPathBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeReadPathBenchmark</code>
+ * <br>
+ * Reads one recipe from the database the way get-recipe does on a cache miss, once by loading the entity and mapping
+ * it and once by folding the joined rows straight into the DTO. Both run in a read-only transaction and send the same
+ * single statement, so the difference is the cost of hydrating the entity and its ingredients. Run it with
+ * -PjmhProfilers=gc to compare the bytes allocated per read.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeReadPathBenchmark {
+
+    private static final String RECIPE_NAME = "benchmark_recipe";
+
+    @Param({"3", "200"})
+    private int ingredientCount;
+
+    private ConfigurableApplicationContext context;
+    private RecipeRepository recipeRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DuplicateEntryException {
+        context = new SpringApplicationBuilder(RecipeSystemApplication.class)
+                .profiles("benchmark")
+                .properties("server.port=0")
+                .run();
+        recipeRepository = context.getBean(RecipeRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        context.getBean(RecipeService.class).createRecipe(RecipeFixtures.recipeDTO(RECIPE_NAME, ingredientCount, 100));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeDTO hydrateEntity() {
+        return readOnlyTransaction.execute(status -> {
+            Recipe recipe = recipeRepository.findOneByName(RECIPE_NAME).orElseThrow();
+            return RecipeMapper.MAPPER.toRecipeDTO(recipe);
+        });
+    }
+
+    @Benchmark
+    public RecipeDTO projectRows() {
+        return readOnlyTransaction.execute(status -> recipeRepository.readByName(RECIPE_NAME).orElseThrow().recipe());
+    }
+}
@@ -0,0 +1,127 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.RecipeSystemApplication;
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.service.RecipeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecipeServiceBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeServiceBenchmark</code>
+ * <br>
+ * Cost of the recipe service operations with the whole application context running against an in-memory H2
+ * database in MySQL mode. Numbers leave out the network round trips to a real MySQL server, they are meant to catch
+ * regressions in the work the application does per operation, such as the number of statements it sends.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeServiceBenchmark {
+
+    private static final String RECIPE_NAME = "benchmark_recipe";
+
+    @Param({"3", "200"})
+    private int ingredientCount;
+
+    @Param({"100", "2000"})
+    private int instructionsLength;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private RecipeCache recipeCache;
+    private final AtomicLong nameSequence = new AtomicLong();
+    private RecipeDTO recipeDTO;
+    private RecipeDTO[] updatedRecipes;
+    private long updates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DuplicateEntryException {
+        // the web configuration needs a servlet context, the server listens on a random port nobody calls
+        context = new SpringApplicationBuilder(RecipeSystemApplication.class)
+                .profiles("benchmark")
+                .properties("server.port=0")
+                .run();
+        recipeService = context.getBean(RecipeService.class);
+        recipeCache = context.getBean(RecipeCache.class);
+        recipeDTO = RecipeFixtures.recipeDTO(RECIPE_NAME, ingredientCount, instructionsLength);
+        recipeService.createRecipe(recipeDTO);
+
+        // the first update only changes a column, the second one also replaces the last ingredient
+        RecipeDTO servingsChanged = RecipeFixtures.recipeDTO(RECIPE_NAME, ingredientCount, instructionsLength);
+        servingsChanged.setServings(2);
+        RecipeDTO ingredientChanged = RecipeFixtures.recipeDTO(RECIPE_NAME, ingredientCount, instructionsLength);
+        List<String> ingredients = new ArrayList<>(ingredientChanged.getIngredients());
+        ingredients.set(ingredients.size() - 1, "another ingredient");
+        ingredientChanged.setIngredients(ingredients);
+        updatedRecipes = new RecipeDTO[]{servingsChanged, recipeDTO, ingredientChanged, recipeDTO};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeDTO getRecipeFromCache() throws RecipeNotFoundException {
+        return recipeService.getRecipe(RECIPE_NAME);
+    }
+
+    @Benchmark
+    public RecipeDTO getRecipeFromDatabase() throws RecipeNotFoundException {
+        recipeCache.evict(RECIPE_NAME);
+        return recipeService.getRecipe(RECIPE_NAME);
+    }
+
+    @Benchmark
+    public void createRecipe() throws DuplicateEntryException {
+        recipeService.createRecipe(newRecipe());
+    }
+
+    /**
+     * Several threads creating recipes at once, which is where id allocation contends
+     */
+    @Benchmark
+    @Threads(4)
+    public void createRecipeConcurrently() throws DuplicateEntryException {
+        recipeService.createRecipe(newRecipe());
+    }
+
+    /**
+     * Alternates updates that only change recipe columns with updates that also change one ingredient
+     */
+    @Benchmark
+    public void updateRecipe() throws RecipeNotFoundException {
+        recipeService.updateRecipe(updatedRecipes[(int) (updates++ % updatedRecipes.length)]);
+    }
+
+    @Benchmark
+    public void createAndDeleteRecipe() throws DuplicateEntryException, RecipeNotFoundException {
+        RecipeDTO newRecipe = newRecipe();
+        recipeService.createRecipe(newRecipe);
+        recipeService.deleteRecipe(newRecipe.getName());
+    }
+
+    private RecipeDTO newRecipe() {
+        RecipeDTO newRecipe = new RecipeDTO();
+        newRecipe.setName("benchmark_" + nameSequence.incrementAndGet());
+        newRecipe.setVegetarian(recipeDTO.getVegetarian());
+        newRecipe.setServings(recipeDTO.getServings());
+        newRecipe.setIngredients(recipeDTO.getIngredients());
+        newRecipe.setCookingInstructions(recipeDTO.getCookingInstructions());
+        return newRecipe;
+    }
+}
@@ -0,0 +1,57 @@
+package com.jgb.recipesystem.benchmark;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.validation.RecipeValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeValidatorBenchmark
+ * <br>
+ * <code>com.jgb.recipesystem.benchmark.RecipeValidatorBenchmark</code>
+ * <br>
+ * Cost of validating a recipe, including the binding result every request creates for it.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecipeValidatorBenchmark {
+
+    @Param({"3", "200"})
+    private int ingredientCount;
+
+    @Param({"100", "2000"})
+    private int instructionsLength;
+
+    private final RecipeValidator recipeValidator = new RecipeValidator();
+    private RecipeDTO validRecipe;
+    private RecipeDTO invalidRecipe;
+
+    @Setup
+    public void setUp() {
+        validRecipe = RecipeFixtures.recipeDTO("four_cheese_pizza", ingredientCount, instructionsLength);
+        invalidRecipe = RecipeFixtures.recipeDTO(" ", ingredientCount, instructionsLength);
+        invalidRecipe.setServings(0);
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult validateValidRecipe() {
+        return validate(validRecipe);
+    }
+
+    @Benchmark
+    public BeanPropertyBindingResult validateInvalidRecipe() {
+        return validate(invalidRecipe);
+    }
+
+    private BeanPropertyBindingResult validate(RecipeDTO recipeDTO) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(recipeDTO, "recipeDTO");
+        recipeValidator.validate(recipeDTO, bindingResult);
+        return bindingResult;
+    }
+}
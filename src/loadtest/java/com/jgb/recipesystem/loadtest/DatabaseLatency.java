@@ -0,0 +1,65 @@
+package com.jgb.recipesystem.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * DatabaseLatency
+ * <br>
+ * <code>com.jgb.recipesystem.loadtest.DatabaseLatency</code>
+ * <br>
+ * Wraps the data source and waits before every statement, so that the in-memory database answers as slowly as a
+ * database across the network would and requests spend their time blocked on it.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+final class DatabaseLatency implements BeanPostProcessor {
+
+    private final long latencyNanos;
+
+    DatabaseLatency(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource);
+        }
+        return bean;
+    }
+
+    private <T> T proxy(Class<T> type, Object target) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (target instanceof Statement && method.getName().startsWith("execute")) {
+                        LockSupport.parkNanos(latencyNanos);
+                    }
+                    Object result = invoke(method, target, args);
+                    if (result instanceof Connection connection) {
+                        return proxy(Connection.class, connection);
+                    }
+                    if (result instanceof Statement statement) {
+                        return proxy(method.getReturnType(), statement);
+                    }
+                    return result;
+                }));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
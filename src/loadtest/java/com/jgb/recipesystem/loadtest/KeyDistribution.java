@@ -0,0 +1,58 @@
+package com.jgb.recipesystem.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KeyDistribution
+ * <br>
+ * <code>com.jgb.recipesystem.loadtest.KeyDistribution</code>
+ * <br>
+ * How the load test picks the recipe a get or an update goes to.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+enum KeyDistribution {
+
+    /**
+     * Every recipe is equally likely
+     */
+    UNIFORM,
+
+    /**
+     * Recipe k, counting from 1, is picked with a probability proportional to 1 / k^exponent, so a few recipes get
+     * most of the traffic as hot items do in production
+     */
+    ZIPFIAN;
+
+    /**
+     * Creates a chooser of recipe indexes in [0, keySpace)
+     *
+     * @param keySpace number of recipes
+     * @param exponent skew of the zipfian distribution, ignored by the uniform one
+     * @return a chooser that can be shared between threads, each thread passing its own random generator
+     */
+    KeyChooser chooser(int keySpace, double exponent) {
+        if (this == UNIFORM) {
+            return random -> random.nextInt(keySpace);
+        }
+        // the cumulative distribution is computed once, each pick is then a binary search over it
+        double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for (int k = 0; k < keySpace; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        double total = sum;
+        return random -> {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            return Math.min(index >= 0 ? index : -index - 1, keySpace - 1);
+        };
+    }
+
+    @FunctionalInterface
+    interface KeyChooser {
+        int next(SplittableRandom random);
+    }
+}
@@ -0,0 +1,373 @@
+package com.jgb.recipesystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.RecipeSystemApplication;
+import com.jgb.recipesystem.concurrent.VirtualThreads;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadTest
+ * <br>
+ * <code>com.jgb.recipesystem.loadtest.LoadTest</code>
+ * <br>
+ * Starts the application in-process against an in-memory H2 database, creates the recipes of the key space and then
+ * drives the create, get, update and delete endpoints over HTTP with a configurable mix, concurrency and key
+ * distribution. Throughput and latency percentiles are printed per endpoint and the full latency histograms are
+ * written as HdrHistogram percentile distributions.
+ * <br>
+ * Writes refused because the recipe changed under them, 412 responses, are counted as conflicts apart from
+ * errors. Many clients editing a small key space, or the hot end of a zipfian one, show how throughput and the
+ * conflict rate behave under contention.
+ * <br>
+ * Clients wait for each response before sending their next request. With a target rate, latency is measured from
+ * the time a request should have been sent, so that a stalled server is not hidden by clients that stop sending
+ * while they wait (coordinated omission).
+ * <br>
+ * The server runs requests on the Tomcat thread pool or, with <code>--threads=virtual</code> on a Java 21 runtime, on
+ * virtual threads. Live platform threads and heap after garbage collection are sampled during the run, to compare how
+ * much every in-flight request costs in each mode. Clients run on virtual threads whenever the runtime has them, so
+ * that they do not weigh on the comparison.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public final class LoadTest {
+
+    private static final String CREDENTIALS = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final KeyDistribution.KeyChooser keyChooser;
+    private final Operation[] operationsByWeight;
+    private ResourceSampler resources;
+
+    private LoadTest(LoadTestOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.keyChooser = options.distribution().chooser(options.keySpace(), options.zipfExponent());
+        List<Operation> operations = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.operationsByWeight = operations.toArray(new Operation[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        SpringApplicationBuilder application = new SpringApplicationBuilder(RecipeSystemApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0");
+        if (!options.dbLatency().isZero()) {
+            application.initializers(context -> context.getBeanFactory()
+                    .addBeanPostProcessor(new DatabaseLatency(options.dbLatency())));
+        }
+        // application.yaml disables virtual threads and wins over default properties, hence the argument
+        try (ConfigurableApplicationContext context = application.run(
+                "--recipe-system.virtual-threads.enabled=" + options.virtualThreads())) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTest loadTest = new LoadTest(options, URI.create("http://localhost:" + port + "/recipe-system"));
+            loadTest.seed();
+            loadTest.report(loadTest.run());
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int first = 0; first < options.keySpace(); first += SEED_BATCH_SIZE) {
+            List<RecipeDTO> recipes = new ArrayList<>();
+            for (int i = first; i < Math.min(first + SEED_BATCH_SIZE, options.keySpace()); i++) {
+                recipes.add(recipe(keyName(i), 4));
+            }
+            HttpResponse<String> response = httpClient.send(request("/bulk-create-recipes")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(recipes)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding recipes failed with " + response.statusCode() + ": " + response.body());
+            }
+        }
+    }
+
+    private Map<Operation, WorkerResult> run() throws Exception {
+        ExecutorService executor = VirtualThreads.isSupported()
+                ? VirtualThreads.newThreadPerTaskExecutor("loadtest-client-")
+                : Executors.newFixedThreadPool(options.concurrency());
+        ResourceSampler resourceSampler = new ResourceSampler();
+        long start = System.nanoTime();
+        long recordFrom = start + options.warmup().toNanos();
+        long end = recordFrom + options.duration().toNanos();
+        List<Future<Map<Operation, WorkerResult>>> workers = new ArrayList<>();
+        for (int worker = 0; worker < options.concurrency(); worker++) {
+            int workerId = worker;
+            workers.add(executor.submit(() -> work(workerId, start, recordFrom, end)));
+        }
+        Map<Operation, WorkerResult> results = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, WorkerResult>> worker : workers) {
+            worker.get().forEach((operation, result) -> results.computeIfAbsent(operation, o -> new WorkerResult()).add(result));
+        }
+        executor.shutdown();
+        resourceSampler.stop();
+        resources = resourceSampler;
+        return results;
+    }
+
+    private Map<Operation, WorkerResult> work(int workerId, long start, long recordFrom, long end) throws Exception {
+        SplittableRandom random = new SplittableRandom(options.seed() + workerId);
+        Map<Operation, WorkerResult> results = new EnumMap<>(Operation.class);
+        Deque<String> createdNames = new ArrayDeque<>();
+        long interval = options.targetRate() > 0 ? 1_000_000_000L * options.concurrency() / options.targetRate() : 0;
+        long intendedStart = start;
+        long sequence = 0;
+        while (true) {
+            long now = System.nanoTime();
+            if (interval > 0) {
+                intendedStart += interval;
+                if (intendedStart > now) {
+                    LockSupport.parkNanos(intendedStart - now);
+                }
+            } else {
+                intendedStart = now;
+            }
+            if (intendedStart >= end) {
+                return results;
+            }
+
+            Operation operation = operationsByWeight[random.nextInt(operationsByWeight.length)];
+            if (operation == Operation.DELETE && createdNames.isEmpty()) {
+                // only recipes created by this client are deleted, so the key space stays intact
+                operation = Operation.CREATE;
+            }
+            Outcome outcome = switch (operation) {
+                case GET -> Outcome.of(send(request("/get-recipe/" + keyName(keyChooser.next(random))).GET()));
+                case UPDATE -> Outcome.of(send(request("/update-recipe")
+                        .header("Content-Type", "application/json")
+                        .POST(body(recipe(keyName(keyChooser.next(random)), 1 + random.nextInt(8))))));
+                case CREATE -> {
+                    String name = "loadtest_" + workerId + "_" + sequence++;
+                    createdNames.push(name);
+                    yield Outcome.of(send(request("/create-recipe")
+                            .header("Content-Type", "application/json")
+                            .POST(body(recipe(name, 2)))));
+                }
+                case DELETE -> Outcome.of(send(request("/delete-recipe/" + createdNames.pop()).DELETE()));
+                case EDIT -> edit(keyName(keyChooser.next(random)), random);
+            };
+            long latency = System.nanoTime() - intendedStart;
+            if (intendedStart >= recordFrom) {
+                results.computeIfAbsent(operation, o -> new WorkerResult()).record(latency, outcome);
+            }
+        }
+    }
+
+    /**
+     * Reads a recipe and updates it conditionally on the ETag it read, reading it again after every conflict until
+     * the retries run out
+     */
+    private Outcome edit(String name, SplittableRandom random) throws IOException, InterruptedException {
+        int conflicts = 0;
+        while (true) {
+            HttpResponse<Void> current = httpClient.send(request("/get-recipe/" + name).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            Optional<String> eTag = current.headers().firstValue("ETag");
+            if (current.statusCode() != 200 || eTag.isEmpty()) {
+                return new Outcome(current.statusCode(), conflicts, conflicts);
+            }
+            int status = send(request("/update-recipe")
+                    .header("Content-Type", "application/json")
+                    .header("If-Match", eTag.get())
+                    .POST(body(recipe(name, 1 + random.nextInt(8)))));
+            if (!Outcome.isConflict(status) || conflicts == options.editRetries()) {
+                return new Outcome(status, conflicts + (Outcome.isConflict(status) ? 1 : 0), conflicts + 1);
+            }
+            conflicts++;
+        }
+    }
+
+    private void report(Map<Operation, WorkerResult> results) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Path outputDirectory = Files.createDirectories(Path.of(options.outputDirectory()));
+        System.out.printf("%n%s, %d clients, %s keys over %d recipes, %ds measured after %ds warmup%n",
+                options.targetRate() > 0 ? options.targetRate() + " req/s target" : "unthrottled",
+                options.concurrency(), options.distribution().name().toLowerCase(), options.keySpace(),
+                options.duration().toSeconds(), options.warmup().toSeconds());
+        System.out.printf("%s threads: %d live platform threads at peak, %+d over idle%n",
+                options.virtualThreads() ? "virtual" : "platform", resources.peakThreads,
+                resources.peakThreads - resources.idleThreads);
+        System.out.printf("heap after gc: %.1f MB at peak, %+.1f KB per client over idle%n",
+                resources.peakHeap / 1_048_576.0,
+                (resources.peakHeap - resources.idleHeap) / 1024.0 / options.concurrency());
+        if (!options.dbLatency().isZero()) {
+            System.out.printf("%d ms added to every statement%n", options.dbLatency().toMillis());
+        }
+        if (options.mix().containsKey(Operation.EDIT)) {
+            System.out.printf("edits retried up to %d times after a conflict%n", options.editRetries());
+        }
+        System.out.printf("%-34s %10s %10s %8s %10s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "conflicts", "conflict %", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, WorkerResult> entry : results.entrySet()) {
+            WorkerResult result = entry.getValue();
+            Histogram histogram = result.latencies;
+            System.out.printf("%-34s %10d %10.1f %8d %10d %10.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().endpoint(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    result.errors, result.conflicts, result.writes == 0 ? 0 : 100.0 * result.conflicts / result.writes,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            Path histogramFile = outputDirectory.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(histogramFile), false, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        System.out.println("Latency histograms, in milliseconds, written to " + outputDirectory.toAbsolutePath());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).header("Authorization", CREDENTIALS);
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.BodyPublisher body(RecipeDTO recipe) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(recipe));
+    }
+
+    private RecipeDTO recipe(String name, int servings) {
+        RecipeDTO recipe = new RecipeDTO();
+        recipe.setName(name);
+        recipe.setVegetarian(servings % 2 == 0);
+        recipe.setServings(servings);
+        List<String> ingredients = new ArrayList<>(options.ingredientCount());
+        for (int i = 0; i < options.ingredientCount(); i++) {
+            ingredients.add("ingredient " + i);
+        }
+        recipe.setIngredients(ingredients);
+        recipe.setCookingInstructions("Mix everything, bake for 20 minutes at 180C and let it rest before serving.");
+        return recipe;
+    }
+
+    private static String keyName(int key) {
+        return "recipe_" + key;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Peak number of live platform threads and peak heap in use after garbage collection, which counts the stacks
+     * of parked virtual threads and not those of platform threads, sampled every 100 ms
+     */
+    private static final class ResourceSampler {
+
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        private final int idleThreads;
+        private final long idleHeap;
+        private volatile int peakThreads;
+        private volatile long peakHeap;
+
+        private ResourceSampler() {
+            System.gc();
+            idleThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+            idleHeap = heapAfterGc();
+            peakThreads = idleThreads;
+            peakHeap = idleHeap;
+            sampler.scheduleAtFixedRate(() -> {
+                peakThreads = Math.max(peakThreads, ManagementFactory.getThreadMXBean().getThreadCount());
+                peakHeap = Math.max(peakHeap, heapAfterGc());
+            }, 100, 100, TimeUnit.MILLISECONDS);
+        }
+
+        private void stop() {
+            sampler.shutdownNow();
+        }
+
+        private static long heapAfterGc() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                    used += pool.getCollectionUsage().getUsed();
+                }
+            }
+            return used;
+        }
+    }
+
+    /**
+     * Final status of an operation, with the conflicts it ran into and the writes it attempted on the way
+     */
+    private record Outcome(int status, int conflicts, int writes) {
+
+        private static Outcome of(int status) {
+            return new Outcome(status, isConflict(status) ? 1 : 0, 1);
+        }
+
+        private static boolean isConflict(int status) {
+            return status == 412;
+        }
+    }
+
+    /**
+     * Latencies, failed requests and version conflicts of one operation
+     */
+    private static final class WorkerResult {
+
+        private final Histogram latencies = new Histogram(3);
+        private long errors;
+        private long conflicts;
+        private long writes;
+
+        private void record(long latencyNanos, Outcome outcome) {
+            latencies.recordValue(latencyNanos);
+            if (outcome.status() >= 300 && !Outcome.isConflict(outcome.status())) {
+                errors++;
+            }
+            conflicts += outcome.conflicts();
+            writes += outcome.writes();
+        }
+
+        private void add(WorkerResult other) {
+            latencies.add(other.latencies);
+            errors += other.errors;
+            conflicts += other.conflicts;
+            writes += other.writes;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.jgb.recipesystem.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LoadTestOptions
+ * <br>
+ * <code>com.jgb.recipesystem.loadtest.LoadTestOptions</code>
+ * <br>
+ * Settings of a load test run, parsed from <code>--name=value</code> arguments. Every setting has a default, see
+ * {@link #parse(String[])}.
+ *
+ * @param duration        time during which latencies are recorded
+ * @param warmup          time the load runs before latencies are recorded
+ * @param concurrency     number of clients sending requests at once, each waits for its response before the next one
+ * @param targetRate      requests per second over all clients, 0 to send them as fast as responses come back
+ * @param mix             relative weight of every operation
+ * @param keySpace        number of recipes created before the run, gets and updates pick one of them
+ * @param distribution    how gets and updates pick their recipe
+ * @param zipfExponent    skew of the zipfian distribution, the higher the more requests go to the hottest recipes
+ * @param ingredientCount ingredients per recipe
+ * @param outputDirectory directory the latency histograms are written to
+ * @param seed            seed of the random choices, so that runs can be repeated
+ * @param virtualThreads  whether the server runs requests on virtual threads instead of the Tomcat thread pool
+ * @param dbLatency       time added to every statement, to stand for the round trip to a database server
+ * @param editRetries     times an edit reads the recipe again and retries after its update failed on a stale version
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+record LoadTestOptions(Duration duration, Duration warmup, int concurrency, int targetRate, Map<Operation, Integer> mix,
+                       int keySpace, KeyDistribution distribution, double zipfExponent, int ingredientCount,
+                       String outputDirectory, long seed, boolean virtualThreads, Duration dbLatency,
+                       int editRetries) {
+
+    /**
+     * Parses arguments such as <code>--concurrency=32 --mix=get:90,update:8,create:1,delete:1
+     * --distribution=zipfian --threads=virtual --db-latency=2 --edit-retries=3</code>
+     *
+     * @param args command line arguments
+     * @return the options, with defaults for every missing argument
+     */
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments have to look like --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("target-rate", "0")),
+                parseMix(values.getOrDefault("mix", "get:80,update:10,create:5,delete:5")),
+                Integer.parseInt(values.getOrDefault("key-space", "10000")),
+                KeyDistribution.valueOf(values.getOrDefault("distribution", "uniform").toUpperCase()),
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "0.99")),
+                Integer.parseInt(values.getOrDefault("ingredients", "8")),
+                values.getOrDefault("output", "build/loadtest"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                parseThreads(values.getOrDefault("threads", "platform")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("db-latency", "0"))),
+                Integer.parseInt(values.getOrDefault("edit-retries", "0")));
+        values.keySet().removeAll(Set.of("duration", "warmup", "concurrency", "target-rate", "mix",
+                "key-space", "distribution", "zipf-exponent", "ingredients", "output", "seed", "threads", "db-latency",
+                "edit-retries"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown arguments " + values.keySet());
+        }
+        return options;
+    }
+
+    private static boolean parseThreads(String threads) {
+        return switch (threads.toLowerCase()) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("--threads has to be platform or virtual, got " + threads);
+        };
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] operationAndWeight = entry.split(":");
+            weights.put(Operation.valueOf(operationAndWeight[0].trim().toUpperCase()),
+                    Integer.parseInt(operationAndWeight[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,30 @@
+package com.jgb.recipesystem.loadtest;
+
+/**
+ * Operation
+ * <br>
+ * <code>com.jgb.recipesystem.loadtest.Operation</code>
+ * <br>
+ * Recipe endpoints driven by the load test. An edit reads a recipe and updates it with the ETag it read as If-Match,
+ * the way an editor that must not overwrite someone else's changes would.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+enum Operation {
+    CREATE("POST /create-recipe"),
+    GET("GET /get-recipe/{name}"),
+    UPDATE("POST /update-recipe"),
+    DELETE("DELETE /delete-recipe/{name}"),
+    EDIT("GET + POST /update-recipe If-Match");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+}
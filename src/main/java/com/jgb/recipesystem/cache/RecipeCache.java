@@ -0,0 +1,134 @@
+package com.jgb.recipesystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jgb.recipesystem.configuration.RecipeCacheProperties;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecipeCache
+ * <br>
+ * <code>com.jgb.recipesystem.cache.RecipeCache</code>
+ * <br>
+ * Bounded read-through cache of already mapped recipes and their versions, keyed by recipe name. Entries are evicted
+ * by size and by time since they were written, and every write on a recipe evicts its entry.
+ * <br>
+ * Cached objects are shared between callers and must not be modified. Hit and miss counters are published as
+ * <code>cache.*</code> meters tagged <code>cache=recipes</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@EnableConfigurationProperties(RecipeCacheProperties.class)
+public class RecipeCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<String, VersionedRecipe> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public RecipeCache(RecipeCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Looks up a recipe in the cache
+     *
+     * @param recipeName name of the recipe
+     * @return the cached recipe, or an empty optional on a cache miss
+     */
+    public Optional<VersionedRecipe> get(String recipeName) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(recipeName));
+    }
+
+    /**
+     * Returns a stamp that has to be taken before loading a recipe from the database and handed back to
+     * {@link #put(String, VersionedRecipe, long)}, so that values loaded concurrently with a write are not cached.
+     *
+     * @return current invalidation stamp
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches a recipe loaded from the database, unless an eviction happened since the stamp was taken or the recipe
+     * was read from a replica. A replica may be behind by more than any fixed window, and the stamp only covers
+     * evictions made by this instance
+     *
+     * @param recipeName name of the recipe
+     * @param recipe     recipe loaded from the database
+     * @param stamp      value returned by {@link #stamp()} before the recipe was loaded
+     */
+    public void put(String recipeName, VersionedRecipe recipe, long stamp) {
+        if (!enabled || recipe.fromReplica() || invalidations.get() != stamp) {
+            return;
+        }
+        cache.put(recipeName, recipe);
+        if (invalidations.get() != stamp) {
+            cache.invalidate(recipeName);
+        }
+    }
+
+    /**
+     * Evicts a recipe straight away and, when called inside a transaction, once more after the transaction
+     * completes, so that a concurrent reader cannot cache the row as it was before the commit.
+     *
+     * @param recipeName name of the recipe that is being written
+     */
+    public void evict(String recipeName) {
+        invalidate(recipeName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(recipeName);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every cached recipe
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return hit, miss and eviction counters of the cache
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "recipes");
+    }
+
+    private void invalidate(String recipeName) {
+        invalidations.incrementAndGet();
+        cache.invalidate(recipeName);
+    }
+}
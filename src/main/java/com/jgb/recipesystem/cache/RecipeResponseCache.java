@@ -0,0 +1,166 @@
+package com.jgb.recipesystem.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jgb.recipesystem.configuration.RecipeResponseCacheProperties;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * RecipeResponseCache
+ * <br>
+ * <code>com.jgb.recipesystem.cache.RecipeResponseCache</code>
+ * <br>
+ * Cache of get-recipe response bodies, rendered once per recipe version as UTF-8 JSON and, for bodies long enough,
+ * gzip. Cached bodies are written straight to the response, so serving a popular recipe neither maps nor serializes
+ * it. Bounded by the bytes it holds.
+ * <br>
+ * A body is only served for the version it was rendered from, so a stale entry is rendered again instead of being
+ * sent. Writes on a recipe evict its entry as well. Recipes read from a replica are rendered for their response only
+ * and not cached. Hit and miss counters are published as <code>cache.*</code> meters tagged
+ * <code>cache=recipe-responses</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@EnableConfigurationProperties(RecipeResponseCacheProperties.class)
+public class RecipeResponseCache implements MeterBinder {
+
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long gzipMinLength;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, RenderedRecipe> cache;
+
+    public RecipeResponseCache(RecipeResponseCacheProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.isEnabled();
+        this.gzipMinLength = properties.getGzipMinLength().toBytes();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String recipeName, RenderedRecipe rendered) -> rendered.weight())
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes a recipe as a 200 response carrying its version as the ETag. The body is gzip when the client accepts
+     * it and the recipe has a gzip variant
+     *
+     * @param recipe   recipe to be written
+     * @param request  request, checked for an Accept-Encoding header
+     * @param response response the body is written to
+     * @throws IOException if the body cannot be written
+     */
+    public void write(VersionedRecipe recipe, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RenderedRecipe rendered = render(recipe);
+        boolean gzip = rendered.gzip() != null && acceptsGzip(request);
+        byte[] body = gzip ? rendered.gzip() : rendered.json();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, rendered.eTag());
+        if (rendered.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Evicts the rendered responses of a recipe
+     *
+     * @param recipeName name of the recipe that is being written
+     */
+    public void evict(String recipeName) {
+        cache.invalidate(recipeName);
+    }
+
+    /**
+     * Evicts every rendered response
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "recipe-responses");
+    }
+
+    private RenderedRecipe render(VersionedRecipe recipe) {
+        String recipeName = recipe.recipe().getName();
+        RenderedRecipe rendered = cache.getIfPresent(recipeName);
+        if (rendered != null && rendered.version().equals(recipe.version())) {
+            return rendered;
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(recipe.recipe());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rendered = new RenderedRecipe(recipe.version(), recipe.version().toETag(), json,
+                json.length < gzipMinLength ? null : gzip(json));
+        if (!recipe.fromReplica()) {
+            cache.put(recipeName, rendered);
+        }
+        return rendered;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parameters = coding.split(";");
+                String name = parameters[0].trim();
+                boolean refused = parameters.length > 1 && parameters[1].replace(" ", "").matches("q=0(\\.0*)?");
+                if ((name.equalsIgnoreCase(GZIP) || name.equals("*")) && !refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record RenderedRecipe(RecipeVersion version, String eTag, byte[] json, byte[] gzip) {
+
+        private int weight() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.jgb.recipesystem.concurrent;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JdbcPinningGuard
+ * <br>
+ * <code>com.jgb.recipesystem.concurrent.JdbcPinningGuard</code>
+ * <br>
+ * Wraps the application data source so that only a fixed number of connections are in use at once. A virtual thread
+ * blocked on the network inside a synchronized block of the JDBC driver keeps its carrier thread, and once every
+ * carrier is pinned no other virtual thread can run, not even the ones that would give a connection back.
+ * <br>
+ * Waiting for a permit parks the virtual thread without pinning it, so requests queue here instead of inside the
+ * driver.
+ * <br>
+ * Permits are counted per thread, not per connection: a thread can only ever pin one carrier, so the connections it
+ * opens while it already holds one, such as the one Hibernate takes to allocate ids, do not wait for another permit.
+ * The permit is given back once every connection of the thread is closed.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class JdbcPinningGuard implements BeanPostProcessor {
+
+    private final Semaphore connections;
+    private final Duration timeout;
+    private final ThreadLocal<AtomicInteger> openConnections = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public JdbcPinningGuard(int maxConnections, Duration timeout) {
+        this.connections = new Semaphore(maxConnections, true);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * @param dataSource data source to be guarded
+     * @return a data source whose connections take a permit for their thread until the last of them is closed
+     */
+    public DataSource wrap(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        return invoke(method, dataSource, args);
+                    }
+                    AtomicInteger open = openConnections.get();
+                    if (open.get() == 0 && !connections.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                        throw new SQLTransientConnectionException("No connection available after "
+                                + timeout.toMillis() + " ms, " + connections.getQueueLength() + " requests waiting");
+                    }
+                    open.incrementAndGet();
+                    try {
+                        return releaseOnClose((Connection) invoke(method, dataSource, args), open);
+                    } catch (Throwable e) {
+                        release(open);
+                        throw e;
+                    }
+                });
+    }
+
+    private Connection releaseOnClose(Connection connection, AtomicInteger open) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        try {
+                            return invoke(method, connection, args);
+                        } finally {
+                            release(open);
+                        }
+                    }
+                    return invoke(method, connection, args);
+                });
+    }
+
+    private void release(AtomicInteger open) {
+        if (open.decrementAndGet() == 0) {
+            connections.release();
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.jgb.recipesystem.concurrent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * VirtualThreads
+ * <br>
+ * <code>com.jgb.recipesystem.concurrent.VirtualThreads</code>
+ * <br>
+ * Access to virtual threads from code compiled for Java 17. Virtual threads are final in Java 21, so they are looked
+ * up by reflection and are only available when the application runs on a Java 21 or later runtime.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return whether the running JVM can start virtual threads
+     */
+    public static boolean isSupported() {
+        try {
+            factory("virtual-thread-probe-");
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a factory of virtual threads, named with a prefix and an increasing number
+     *
+     * @param namePrefix prefix of the thread names
+     * @return the thread factory
+     * @throws IllegalStateException if the running JVM has no virtual threads
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (NoSuchMethodException | ClassNotFoundException | IllegalAccessException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime, running on "
+                    + Runtime.version(), e);
+        } catch (InvocationTargetException e) {
+            // Java 19 and 20 only start virtual threads with --enable-preview
+            throw new IllegalStateException("Virtual threads are not enabled on " + Runtime.version(), e.getCause());
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task
+     *
+     * @param namePrefix prefix of the thread names
+     * @return the executor
+     * @throws IllegalStateException if the running JVM has no virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = factory(namePrefix);
+        try {
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime, running on "
+                    + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AuthenticationCacheProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.AuthenticationCacheProperties</code>
+ * <br>
+ * Settings of the cache of verified HTTP Basic credentials, bound from <code>recipe-system.authentication-cache</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.authentication-cache")
+public class AuthenticationCacheProperties {
+
+    /**
+     * Whether verified credentials are cached at all. When disabled every request pays a full BCrypt verification
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of users whose credentials are held in the cache
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which credentials are verified with BCrypt again. Bounds how long a changed password, a locked
+     * account or changed roles take to be noticed
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
@@ -0,0 +1,47 @@
+package com.jgb.recipesystem.configuration;
+
+import com.jgb.recipesystem.security.CachingAuthenticationProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+/**
+ * AuthenticationConfig
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.AuthenticationConfig</code>
+ * <br>
+ * Users and credential verification. Kept apart from {@link WebSecurityConfig} so that the provider can be bound to
+ * the meter registry without depending on the web security configuration, which the registry itself depends on.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Configuration
+@EnableConfigurationProperties(AuthenticationCacheProperties.class)
+public class AuthenticationConfig {
+
+    @Bean
+    protected PasswordEncoder getPasswordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    /**
+     * BCrypt verification of HTTP Basic credentials, cached so that it only runs once per user and password
+     * instead of on every request
+     */
+    @Bean
+    protected CachingAuthenticationProvider getAuthenticationProvider(AuthenticationCacheProperties properties) {
+        PasswordEncoder passwordEncoder = this.getPasswordEncoder();
+        DaoAuthenticationProvider bcryptProvider = new DaoAuthenticationProvider();
+        bcryptProvider.setPasswordEncoder(passwordEncoder);
+        bcryptProvider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("user").password(passwordEncoder.encode("password")).roles("USER").build(),
+                User.withUsername("admin").password(passwordEncoder.encode("password")).roles("USER", "ADMIN").build()));
+        return new CachingAuthenticationProvider(bcryptProvider, properties);
+    }
+}
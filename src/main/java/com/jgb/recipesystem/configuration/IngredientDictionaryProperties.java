@@ -0,0 +1,31 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * IngredientDictionaryProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.IngredientDictionaryProperties</code>
+ * <br>
+ * Settings of the in-process ingredient name to id cache, bound from <code>recipe-system.ingredient-dictionary</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.ingredient-dictionary")
+public class IngredientDictionaryProperties {
+
+    /**
+     * Maximum number of ingredient ids held in the cache
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Number of times the ids of new ingredients are looked up again after another node inserted the same names
+     */
+    private int insertAttempts = 3;
+}
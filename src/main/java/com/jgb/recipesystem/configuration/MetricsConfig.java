@@ -0,0 +1,25 @@
+package com.jgb.recipesystem.configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MetricsConfig
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.MetricsConfig</code>
+ * <br>
+ * Makes <code>@Timed</code> work on any bean, it is only handled out of the box on web endpoints.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
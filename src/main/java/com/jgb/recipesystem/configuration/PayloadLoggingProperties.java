@@ -0,0 +1,58 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PayloadLoggingProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.PayloadLoggingProperties</code>
+ * <br>
+ * Settings of request payload logging, bound from <code>recipe-system.payload-logging</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.payload-logging")
+public class PayloadLoggingProperties {
+
+    /**
+     * Settings of the endpoints that have none of their own
+     */
+    private Endpoint defaults = new Endpoint();
+
+    /**
+     * Settings per endpoint, keyed by the endpoint path without the leading slash, e.g. create-recipe
+     */
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+
+        /**
+         * Which payloads are logged
+         */
+        private Mode mode = Mode.NONE;
+
+        /**
+         * Fraction of payloads logged in SAMPLED mode, between 0 and 1
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Largest number of characters of a payload that are logged, the rest is cut off
+         */
+        private int maxLength = 512;
+    }
+
+    public enum Mode {
+        NONE, SAMPLED, ALL
+    }
+}
@@ -0,0 +1,26 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * RecipeBulkProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeBulkProperties</code>
+ * <br>
+ * Settings of the bulk recipe ingest, bound from <code>recipe-system.bulk</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.bulk")
+public class RecipeBulkProperties {
+
+    /**
+     * Number of recipes written per transaction. Keep it in line with hibernate.jdbc.batch_size
+     */
+    private int batchSize = 500;
+}
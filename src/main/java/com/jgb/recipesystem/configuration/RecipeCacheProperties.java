@@ -0,0 +1,38 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * RecipeCacheProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeCacheProperties</code>
+ * <br>
+ * Settings of the in-process recipe cache, bound from <code>recipe-system.cache</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.cache")
+public class RecipeCacheProperties {
+
+    /**
+     * Whether recipe lookups are served from the cache at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of recipes held in the cache
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which a cached recipe is reloaded from the database
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
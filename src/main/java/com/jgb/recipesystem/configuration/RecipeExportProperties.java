@@ -0,0 +1,27 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * RecipeExportProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeExportProperties</code>
+ * <br>
+ * Settings of the recipe catalogue export, bound from <code>recipe-system.export</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.export")
+public class RecipeExportProperties {
+
+    /**
+     * Fetch size of the catalogue scan. Integer.MIN_VALUE makes MySQL Connector/J stream the rows one by one instead
+     * of reading the whole result into memory, other databases take a positive number of rows per round trip
+     */
+    private int fetchSize = Integer.MIN_VALUE;
+}
@@ -0,0 +1,61 @@
+package com.jgb.recipesystem.configuration;
+
+import com.jgb.recipesystem.model.RecipeFileFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * RecipeImportProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeImportProperties</code>
+ * <br>
+ * Settings of the recipe file import, bound from <code>recipe-system.import</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.import")
+public class RecipeImportProperties {
+
+    /**
+     * File to import when the application starts. The application exits once it is imported
+     */
+    private Path file;
+
+    /**
+     * Format of the file, taken from its extension when not set
+     */
+    private RecipeFileFormat format;
+
+    /**
+     * Whether recipes whose name already exists are updated instead of rejected as duplicates
+     */
+    private boolean upsert = false;
+
+    /**
+     * Threads that parse and validate records. 0 means one per processor
+     */
+    private int validationThreads = 0;
+
+    /**
+     * Records read ahead of the database writes. Bounds the memory the import takes
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Longest record accepted, longer ones are rejected
+     */
+    private DataSize maxRecordLength = DataSize.ofMegabytes(1);
+
+    /**
+     * How often progress and throughput are logged
+     */
+    private Duration progressInterval = Duration.ofSeconds(10);
+}
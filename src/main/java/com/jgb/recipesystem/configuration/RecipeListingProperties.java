@@ -0,0 +1,31 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * RecipeListingProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeListingProperties</code>
+ * <br>
+ * Page sizes of the recipe listing, bound from <code>recipe-system.listing</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.listing")
+public class RecipeListingProperties {
+
+    /**
+     * Page size used when the client does not ask for one
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * Largest page size a client can ask for, bigger requests are capped to it
+     */
+    private int maxPageSize = 100;
+}
@@ -0,0 +1,37 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * RecipeResponseCacheProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeResponseCacheProperties</code>
+ * <br>
+ * Settings of the cache of rendered get-recipe responses, bound from <code>recipe-system.response-cache</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.response-cache")
+public class RecipeResponseCacheProperties {
+
+    /**
+     * Whether get-recipe writes cached response bytes instead of serializing the recipe on every request
+     */
+    private boolean enabled = true;
+
+    /**
+     * Largest number of bytes held by the cache, plain and gzip bodies together
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Bodies shorter than this are not worth a gzip variant and are always sent plain
+     */
+    private DataSize gzipMinLength = DataSize.ofKilobytes(1);
+}
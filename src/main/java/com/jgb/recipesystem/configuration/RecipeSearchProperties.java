@@ -0,0 +1,51 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * RecipeSearchProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.RecipeSearchProperties</code>
+ * <br>
+ * Settings of the in-memory search indexes, bound from <code>recipe-system.search</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.search")
+public class RecipeSearchProperties {
+
+    /**
+     * Whether the indexes are loaded from the database when the application starts
+     */
+    private boolean rebuildOnStartup = true;
+
+    /**
+     * Number of recipes read per query while rebuilding the indexes
+     */
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * Largest number of results a search can return
+     */
+    private int maxResults = 1000;
+
+    /**
+     * BM25 term frequency saturation of the text search
+     */
+    private float bm25K1 = 1.2f;
+
+    /**
+     * BM25 document length normalization of the text search
+     */
+    private float bm25B = 0.75f;
+
+    /**
+     * Times a term of the recipe name counts towards its frequency in the text search
+     */
+    private int nameBoost = 3;
+}
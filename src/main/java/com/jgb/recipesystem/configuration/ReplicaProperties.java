@@ -0,0 +1,88 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReplicaProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.ReplicaProperties</code>
+ * <br>
+ * Settings of the read replicas, bound from <code>recipe-system.replicas</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.replicas")
+public class ReplicaProperties {
+
+    /**
+     * Whether read-only transactions are sent to the replicas. Everything else always goes to the primary
+     */
+    private boolean enabled = false;
+
+    /**
+     * How the replica of each read-only transaction is picked among the healthy ones
+     */
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    /**
+     * Replicas reads are spread over
+     */
+    private List<Replica> nodes = new ArrayList<>();
+
+    /**
+     * Time between two checks of every replica. A replica that fails a check or a connection attempt stops getting
+     * reads until it passes a check again
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Time a read waits for a replica connection before the replica is taken out and the read falls back to another
+     * replica or to the primary
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Time after a recipe is written during which reads of that recipe go to the primary, so that the writer does not
+     * see a replica that has not caught up yet. Recipes read from a replica are never cached, whatever the window
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public enum Selection {
+        /**
+         * Replicas take turns
+         */
+        ROUND_ROBIN,
+        /**
+         * The replica with the fewest connections in use
+         */
+        LEAST_LOADED
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * Defaults to the username of the primary
+         */
+        private String username;
+
+        /**
+         * Defaults to the password of the primary
+         */
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
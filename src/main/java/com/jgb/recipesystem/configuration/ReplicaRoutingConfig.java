@@ -0,0 +1,30 @@
+package com.jgb.recipesystem.configuration;
+
+import com.jgb.recipesystem.database.routing.ReplicaRouting;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ReplicaRoutingConfig
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.ReplicaRoutingConfig</code>
+ * <br>
+ * Opt-in read replicas, enabled with <code>recipe-system.replicas.enabled</code>. Transactions marked read-only,
+ * such as the recipe gets, listings and searches, read from a replica. Writes, version lookups and reads of recipes
+ * written a moment ago stay on the primary.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "recipe-system.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public static ReplicaRouting replicaRouting(ReplicaProperties properties) {
+        return new ReplicaRouting(properties);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jgb.recipesystem.configuration;
+
+import com.jgb.recipesystem.concurrent.JdbcPinningGuard;
+import com.jgb.recipesystem.concurrent.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * VirtualThreadConfig
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.VirtualThreadConfig</code>
+ * <br>
+ * Opt-in execution mode, enabled with <code>recipe-system.virtual-threads.enabled</code>, that serves every request on
+ * its own virtual thread instead of the Tomcat thread pool. Controllers, services and repositories run on the thread
+ * of the request, so their blocking calls park a virtual thread instead of holding a pooled one.
+ * <br>
+ * Startup fails when the runtime has no virtual threads, rather than silently falling back to the thread pool. A
+ * warning is logged when fewer threads may use connections at once than the connection pool holds, with the scheduler
+ * parallelism that would let the whole pool be used.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "recipe-system.virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig implements DisposableBean {
+
+    private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+
+    private final ExecutorService requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Bean
+    public static JdbcPinningGuard jdbcPinningGuard(VirtualThreadProperties properties, Environment environment) {
+        // the scheduler runs as many carrier threads as processors unless told otherwise
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+        int maxConnections = properties.getMaxPinnedConnections() > 0 ? properties.getMaxPinnedConnections()
+                : Math.max(1, carriers - 1);
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                DEFAULT_MAXIMUM_POOL_SIZE);
+        if (maxConnections < poolSize) {
+            if (properties.getMaxPinnedConnections() > 0) {
+                log.warn("At most {} threads use database connections at once, fewer than the {} connections of the pool,"
+                        + " as recipe-system.virtual-threads.max-pinned-connections is set", maxConnections, poolSize);
+            } else {
+                log.warn("At most {} threads use database connections at once, fewer than the {} connections of the pool,"
+                        + " because there are {} carrier threads. Start the JVM with"
+                        + " -Djdk.virtualThreadScheduler.parallelism={} to use the whole pool",
+                        maxConnections, poolSize, carriers, poolSize + 1);
+            }
+        }
+        return new JdbcPinningGuard(maxConnections, properties.getConnectionTimeout());
+    }
+
+    @Override
+    public void destroy() {
+        requestExecutor.shutdown();
+    }
+}
@@ -0,0 +1,41 @@
+package com.jgb.recipesystem.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * VirtualThreadProperties
+ * <br>
+ * <code>com.jgb.recipesystem.configuration.VirtualThreadProperties</code>
+ * <br>
+ * Settings of the virtual thread execution mode, bound from <code>recipe-system.virtual-threads</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "recipe-system.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Whether requests are served on virtual threads instead of the Tomcat thread pool. Needs a Java 21 runtime
+     */
+    private boolean enabled = false;
+
+    /**
+     * Largest number of threads using database connections at once. The MySQL driver blocks on the network inside
+     * synchronized blocks, which pins a virtual thread to its carrier thread, so this has to stay below the number
+     * of carrier threads. 0 for one less than the carrier threads, which are as many as the processors unless
+     * <code>jdk.virtualThreadScheduler.parallelism</code> is set
+     */
+    private int maxPinnedConnections = 0;
+
+    /**
+     * Time a request waits for one of those connections before it fails
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+}
@@ -1,14 +1,13 @@
 package com.jgb.recipesystem.configuration;
 
-import org.springframework.context.annotation.Bean;
+import com.jgb.recipesystem.security.CachingAuthenticationProvider;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * WebSecurityConfig
@@ -21,14 +20,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  */
 @Configuration
 @EnableWebSecurity
+@RequiredArgsConstructor
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     private static final String BASE_PATH = "/recipe-system";
 
-    @Bean
-    protected PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    private final CachingAuthenticationProvider authenticationProvider;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -36,6 +33,8 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
         http.csrf().disable()
                 .authorizeRequests()
                 .antMatchers(HttpMethod.GET, "/**").hasRole("USER")
+                // multi-get only reads, it is a POST so that long lists of names fit in the body
+                .antMatchers(HttpMethod.POST, "/get-recipes").hasRole("USER")
                 .antMatchers(HttpMethod.POST, anyPath).hasRole("ADMIN")
                 .antMatchers(HttpMethod.DELETE, anyPath).hasRole("ADMIN")
                 .anyRequest().authenticated()
@@ -44,9 +43,6 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.inMemoryAuthentication()
-                .withUser("user").password(this.getPasswordEncoder().encode("password")).roles("USER")
-                .and()
-                .withUser("admin").password(this.getPasswordEncoder().encode("password")).roles("USER", "ADMIN");
+        auth.authenticationProvider(authenticationProvider);
     }
 }
@@ -0,0 +1,97 @@
+package com.jgb.recipesystem.controller;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.service.ReactiveRecipeService;
+import com.jgb.recipesystem.validation.RecipeValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+/**
+ * ReactiveRecipeController
+ * <br>
+ * <code>com.jgb.recipesystem.controller.ReactiveRecipeController</code>
+ * <br>
+ * Reactive variant of the recipe API under <code>/reactive</code>, with the same contract, validation and error
+ * responses as {@link RecipeController}. Handlers return a Mono, so the request thread goes back to the pool as soon
+ * as the handler returns and the response is written once the database answers.
+ * <br>
+ * The application keeps running on the servlet stack, with Spring MVC handling the reactive return types, since a
+ * WebFlux server cannot share one process with the servlet API.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveRecipeController {
+
+    private final RecipeValidator recipeValidator;
+    private final ReactiveRecipeService reactiveRecipeService;
+
+    @InitBinder("recipeDTO")
+    public void initRecipeBinder(WebDataBinder binder) {
+        binder.addValidators(recipeValidator);
+    }
+
+    /**
+     * Submits the necessary info to create a new recipe
+     *
+     * @param recipeDTO recipe to be created
+     * @return ResponseEntity with status no-content once the recipe is created
+     */
+    @Operation(method = "POST", description = "Submits information about a new recipe, see POST /create-recipe",
+            security = @SecurityRequirement(name = "Basic Auth"))
+    @PostMapping(value = "/create-recipe", consumes = {"application/json"})
+    public Mono<ResponseEntity<Void>> createRecipe(@Validated @RequestBody RecipeDTO recipeDTO) {
+        return reactiveRecipeService.createRecipe(recipeDTO).then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Retrieves info about a specific recipe
+     *
+     * @param recipeName the name of the recipe to be retrieved
+     * @return ResponseEntity with HttpStatus.OK and the recipe
+     */
+    @Operation(method = "GET", description = "Returns information about a specific recipe, see GET /get-recipe/{name}",
+            security = @SecurityRequirement(name = "Basic Auth"))
+    @GetMapping(value = "/get-recipe/{name}")
+    public Mono<ResponseEntity<RecipeDTO>> getRecipe(@Validated @PathVariable("name") @NotBlank(message = "path variable cannot be blank") String recipeName) {
+        return reactiveRecipeService.getRecipe(recipeName).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Lists the recipes on the system page by page
+     *
+     * @param order       key the recipes are ordered and paginated by
+     * @param cursor      cursor of the page to retrieve, as returned with the previous page
+     * @param vegetarian  only list vegetarian or non-vegetarian recipes
+     * @param minServings only list recipes with at least this many servings
+     * @param maxServings only list recipes with at most this many servings
+     * @param size        number of recipes per page
+     * @return ResponseEntity with HttpStatus.OK and the page of recipes
+     */
+    @Operation(method = "GET", description = "Returns a page of recipes, see GET /list-recipes",
+            security = @SecurityRequirement(name = "Basic Auth"))
+    @GetMapping(value = "/list-recipes")
+    public Mono<ResponseEntity<RecipePageDTO>> listRecipes(@RequestParam(value = "order", defaultValue = "NAME") RecipeListingOrder order,
+                                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "vegetarian", required = false) Boolean vegetarian,
+                                                           @RequestParam(value = "minServings", required = false) @Min(value = 1, message = "minServings must be greater than zero") Integer minServings,
+                                                           @RequestParam(value = "maxServings", required = false) @Min(value = 1, message = "maxServings must be greater than zero") Integer maxServings,
+                                                           @RequestParam(value = "size", required = false) @Min(value = 1, message = "size must be greater than zero") Integer size) {
+        return reactiveRecipeService.listRecipes(order, cursor, vegetarian, minServings, maxServings, size).map(ResponseEntity::ok);
+    }
+}
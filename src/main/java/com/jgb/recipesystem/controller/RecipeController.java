@@ -1,8 +1,22 @@
 package com.jgb.recipesystem.controller;
 
+import com.jgb.recipesystem.cache.RecipeResponseCache;
 import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.InvalidCursorException;
 import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.exception.RecipeVersionConflictException;
+import com.jgb.recipesystem.logging.RequestPayloadLogger;
+import com.jgb.recipesystem.model.BulkRecipeReportDTO;
+import com.jgb.recipesystem.model.RecipeBatchDTO;
 import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.model.RecipeSearchPageDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import com.jgb.recipesystem.service.RecipeBulkService;
+import com.jgb.recipesystem.service.RecipeExportService;
+import com.jgb.recipesystem.service.RecipeSearchService;
 import com.jgb.recipesystem.service.RecipeService;
 import com.jgb.recipesystem.validation.RecipeValidator;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,13 +27,21 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
 
 /**
  * RecipeController
@@ -30,14 +52,20 @@ import javax.validation.constraints.NotBlank;
  * @author Jaime Gotor Blazquez
  * @since 07 March 2022
  */
-@Slf4j
 @RestController
 @RequiredArgsConstructor
 @Validated
 public class RecipeController {
 
+    private static final int MAX_MULTI_GET_NAMES = 200;
+
     private final RecipeValidator recipeValidator;
     private final RecipeService recipeService;
+    private final RecipeSearchService recipeSearchService;
+    private final RecipeBulkService recipeBulkService;
+    private final RecipeExportService recipeExportService;
+    private final RequestPayloadLogger requestPayloadLogger;
+    private final RecipeResponseCache recipeResponseCache;
 
     @InitBinder("recipeDTO")
     public void initRecipeBinder(WebDataBinder binder) {
@@ -90,21 +118,98 @@ public class RecipeController {
     )
     @PostMapping(value = "/create-recipe", consumes = {"application/json"})
     public ResponseEntity<Void> createRecipe(@Validated @RequestBody RecipeDTO recipeDTO) throws DuplicateEntryException {
-        log.info("Recipe DTO: {}", recipeDTO.toString());
+        requestPayloadLogger.log("create-recipe", recipeDTO);
         recipeService.createRecipe(recipeDTO);
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Endpoint used to get information about a specific recipe on the system
+     * Submits many recipes at once. Every recipe is validated on its own, and valid ones are written in batches
+     *
+     * @param upsert  whether existing recipes are updated instead of reported as duplicates
+     * @param recipes recipes to be created
+     * @return ResponseEntity with HttpStatus.OK and the outcome of every recipe
+     */
+    @Operation(
+            method = "POST",
+            description = "Submits a JSON array of recipes. Each recipe is reported as CREATED, UPDATED, DUPLICATE or INVALID",
+            parameters = {
+                    @Parameter(name = "upsert", in = ParameterIn.QUERY, description = "update recipes that already exist, defaults to false")
+            },
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "The request has succeeded.",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("{\"created\": 1,\"updated\": 0,\"duplicate\": 1,\"invalid\": 1,\"results\": [{\"index\": 0,\"name\": \"four_cheese_pizza\",\"status\": \"CREATED\"},{\"index\": 1,\"name\": \"pizza_quatro_fromaggi\",\"status\": \"DUPLICATE\"},{\"index\": 2,\"name\": \"margherita\",\"status\": \"INVALID\",\"errors\": [{\"code\": \"greater_than_zero\",\"fieldName\": \"servings\",\"rejectedValue\": -1,\"message\": \"Please specify a value greater than zero.\"}]}]}")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "403", description = "The server understood the request but the user has forbidden access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @PostMapping(value = "/bulk-create-recipes", consumes = {"application/json"})
+    public ResponseEntity<BulkRecipeReportDTO> bulkCreateRecipes(@RequestParam(value = "upsert", defaultValue = "false") boolean upsert,
+                                                                 @RequestBody List<RecipeDTO> recipes) {
+        requestPayloadLogger.log("bulk-create-recipes", recipes);
+        return ResponseEntity.ok(recipeBulkService.importRecipes(recipes, upsert));
+    }
+
+    /**
+     * Submits many recipes at once as newline delimited JSON, one recipe per line. The body is read as a stream
+     *
+     * @param upsert  whether existing recipes are updated instead of reported as duplicates
+     * @param request request whose body holds the recipes
+     * @return ResponseEntity with HttpStatus.OK and the outcome of every line
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(
+            method = "POST",
+            description = "Submits recipes as newline delimited JSON. Each line is reported as CREATED, UPDATED, DUPLICATE or INVALID",
+            parameters = {
+                    @Parameter(name = "upsert", in = ParameterIn.QUERY, description = "update recipes that already exist, defaults to false")
+            },
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded."),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "403", description = "The server understood the request but the user has forbidden access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @PostMapping(value = "/bulk-create-recipes", consumes = {"application/x-ndjson"})
+    public ResponseEntity<BulkRecipeReportDTO> bulkCreateRecipesFromNdjson(@RequestParam(value = "upsert", defaultValue = "false") boolean upsert,
+                                                                           HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(recipeBulkService.importNdjson(request.getReader(), upsert));
+    }
+
+    /**
+     * Endpoint used to get information about a specific recipe on the system. The response carries the version of
+     * the recipe as its ETag, and a request whose If-None-Match holds the current ETag is answered with
+     * HttpStatus.NOT_MODIFIED and no body. A client whose copy is stale gets the recipe at the version it was
+     * compared against, read from the primary. With the response cache enabled the body is written from the cache,
+     * gzip if the client accepts it, and null is returned
      *
      * @param recipeName name of the recipe from which the user is requesting information
+     * @param webRequest request, checked for an If-None-Match header
+     * @param request    request, checked for an Accept-Encoding header
+     * @param response   response the cached body is written to
      * @return ResponseEntity with HttpStatus.OK and a response body containing info about the recipe
      * @throws RecipeNotFoundException if a recipe with that name is not found on the system
+     * @throws IOException             if the cached body cannot be written
      */
     @Operation(
             parameters = {
-                    @Parameter(name = "name", in = ParameterIn.PATH, required = true)
+                    @Parameter(name = "name", in = ParameterIn.PATH, required = true),
+                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER, description = "ETag of the copy the client holds")
             },
             security = {
                     @SecurityRequirement(name = "Basic Auth")
@@ -123,6 +228,7 @@ public class RecipeController {
                                 )
                             }
                     ),
+                    @ApiResponse(responseCode = "304", description = "The recipe has not changed since the version given in If-None-Match."),
                     @ApiResponse(
                             responseCode = "400",
                             description = "The server cannot or will not process the request due to something that is perceived to be a client error (e.g., malformed request syntax, invalid request message framing, or deceptive request routing).",
@@ -144,21 +250,291 @@ public class RecipeController {
             }
     )
     @GetMapping(value = "/get-recipe/{name}")
-    public ResponseEntity<RecipeDTO> getRecipe(@Validated @PathVariable("name") @NotBlank(message = "path variable cannot be blank") String recipeName) throws RecipeNotFoundException {
-        RecipeDTO recipeDTO = recipeService.getRecipe(recipeName);
-        return ResponseEntity.ok(recipeDTO);
+    public ResponseEntity<RecipeDTO> getRecipe(@Validated @PathVariable("name") @NotBlank(message = "path variable cannot be blank") String recipeName,
+                                               WebRequest webRequest, HttpServletRequest request,
+                                               HttpServletResponse response) throws RecipeNotFoundException, IOException {
+        // a client that holds a copy only needs the version to know whether it is still current, and when it is not
+        // the new copy comes from where the version was read, never from a replica that may be behind it
+        VersionedRecipe recipe;
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            if (webRequest.checkNotModified(recipeService.getRecipeVersion(recipeName).toETag())) {
+                return null;
+            }
+            recipe = recipeService.getLatestRecipe(recipeName);
+        } else {
+            recipe = recipeService.getVersionedRecipe(recipeName);
+        }
+        if (recipeResponseCache.isEnabled()) {
+            recipeResponseCache.write(recipe, request, response);
+            return null;
+        }
+        return ResponseEntity.ok().eTag(recipe.version().toETag()).body(recipe.recipe());
     }
 
     /**
-     * Endpoint used to update recipes in the recipe system
+     * Endpoint used to get many recipes by name in a single request, instead of one get-recipe call per recipe
+     *
+     * @param recipeNames names of the recipes the user is requesting information about
+     * @return ResponseEntity with HttpStatus.OK, the recipes found and the names that have no recipe
+     */
+    @Operation(
+            method = "POST",
+            description = "Gets up to " + MAX_MULTI_GET_NAMES + " recipes by name. Names without a recipe are listed as missing",
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject("[\"four_cheese_pizza\", \"pizza_quatro_fromaggi\"]"))
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "The request has succeeded.",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("'{\"recipes\": [{\"creationDateTime\": \"09‐03‐2022 19:39\",\"name\": \"pizza_quatro_fromaggi\",\"vegetarian\": false,\"servings\": 4,\"ingredients\": [\"pizza crust\",\"tomato\",\"blue cheese\"],\"cookingInstructions\": \"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}],\"missing\": [\"four_cheese_pizza\"]}'")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The server cannot or will not process the request due to something that is perceived to be a client error (e.g., malformed request syntax, invalid request message framing, or deceptive request routing).",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("[{\"fieldName\": \"recipeName\",\"rejectedValue\": [],\"message\": \"between 1 and 200 names can be asked for at once\"}]")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @PostMapping(value = "/get-recipes", consumes = {"application/json"})
+    public ResponseEntity<RecipeBatchDTO> getRecipes(@RequestBody @Size(min = 1, max = MAX_MULTI_GET_NAMES, message = "between 1 and " + MAX_MULTI_GET_NAMES + " names can be asked for at once")
+                                                     List<@NotBlank(message = "names cannot be blank") String> recipeNames) {
+        return ResponseEntity.ok(recipeService.getRecipes(recipeNames));
+    }
+
+    /**
+     * Endpoint used to list the recipes on the system page by page
+     *
+     * @param order       key the recipes are ordered and paginated by
+     * @param cursor      cursor of the page to retrieve, as returned with the previous page
+     * @param vegetarian  only list vegetarian or non-vegetarian recipes
+     * @param minServings only list recipes with at least this many servings
+     * @param maxServings only list recipes with at most this many servings
+     * @param size        number of recipes per page
+     * @return ResponseEntity with HttpStatus.OK and a response body containing the page of recipes
+     * @throws InvalidCursorException if the cursor is not valid for the requested order
+     */
+    @Operation(
+            parameters = {
+                    @Parameter(name = "order", in = ParameterIn.QUERY, description = "ID or NAME, defaults to NAME"),
+                    @Parameter(name = "cursor", in = ParameterIn.QUERY, description = "nextCursor returned with the previous page"),
+                    @Parameter(name = "vegetarian", in = ParameterIn.QUERY),
+                    @Parameter(name = "minServings", in = ParameterIn.QUERY),
+                    @Parameter(name = "maxServings", in = ParameterIn.QUERY),
+                    @Parameter(name = "size", in = ParameterIn.QUERY, description = "page size, capped by the server")
+            },
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            method = "GET",
+            description = "Lists the recipes that match the filters, one page at a time",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "The request has succeeded.",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = {
+                                                    @ExampleObject("'{\"recipes\": [{\"creationDateTime\": \"09‐03‐2022 19:39\",\"name\": \"pizza_quatro_fromaggi\",\"vegetarian\": false,\"servings\": 4,\"ingredients\": [\"pizza crust\",\"tomato\",\"blue cheese\"],\"cookingInstructions\": \"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}],\"nextCursor\": \"TkFNRTpwaXp6YV9xdWF0cm9fZnJvbWFnZ2k\"}'"),
+                                            }
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The server cannot or will not process the request due to something that is perceived to be a client error (e.g., malformed request syntax, invalid request message framing, or deceptive request routing).",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("{\"message\": \"Cursor TkFNRTpwaXp6YQ does not belong to a listing ordered by ID.\"}")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @GetMapping(value = "/list-recipes")
+    public ResponseEntity<RecipePageDTO> listRecipes(@RequestParam(value = "order", defaultValue = "NAME") RecipeListingOrder order,
+                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                     @RequestParam(value = "vegetarian", required = false) Boolean vegetarian,
+                                                     @RequestParam(value = "minServings", required = false) @Min(value = 1, message = "minServings must be greater than zero") Integer minServings,
+                                                     @RequestParam(value = "maxServings", required = false) @Min(value = 1, message = "maxServings must be greater than zero") Integer maxServings,
+                                                     @RequestParam(value = "size", required = false) @Min(value = 1, message = "size must be greater than zero") Integer size) throws InvalidCursorException {
+        RecipePageDTO page = recipeService.listRecipes(order, cursor, vegetarian, minServings, maxServings, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Endpoint used to dump the whole recipe catalogue as newline delimited JSON. Recipes are written to the response
+     * while the catalogue is read, so the whole catalogue is never held in memory
+     *
+     * @param gzip     whether the dump is compressed with gzip
+     * @param response response the recipes are written to
+     * @throws IOException if the response cannot be written
+     */
+    @Operation(
+            parameters = {
+                    @Parameter(name = "gzip", in = ParameterIn.QUERY, description = "compress the dump with gzip, defaults to false")
+            },
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            method = "GET",
+            description = "Exports every recipe as newline delimited JSON, one recipe per line ordered by id",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded."),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @GetMapping(value = "/export-recipes")
+    public void exportRecipes(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        if (gzip) {
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.ndjson.gz\"");
+        } else {
+            response.setContentType("application/x-ndjson");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.ndjson\"");
+        }
+        recipeExportService.exportNdjson(response.getOutputStream(), gzip);
+    }
+
+    /**
+     * Endpoint used to find recipes by the ingredients they contain
+     *
+     * @param include    ingredients the recipes must contain
+     * @param exclude    ingredients the recipes must not contain
+     * @param maxResults largest number of recipe names to return
+     * @return ResponseEntity with HttpStatus.OK and the names of the matching recipes
+     */
+    @Operation(
+            parameters = {
+                    @Parameter(name = "include", in = ParameterIn.QUERY, required = true, description = "ingredient the recipes must contain, can be repeated"),
+                    @Parameter(name = "exclude", in = ParameterIn.QUERY, description = "ingredient the recipes must not contain, can be repeated"),
+                    @Parameter(name = "maxResults", in = ParameterIn.QUERY, description = "largest number of results, capped by the server")
+            },
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            method = "GET",
+            description = "Finds the recipes that contain all the included ingredients and none of the excluded ones",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "The request has succeeded.",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("[\"four_cheese_pizza\",\"pizza_quatro_fromaggi\"]")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The server cannot or will not process the request due to something that is perceived to be a client error (e.g., malformed request syntax, invalid request message framing, or deceptive request routing).",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("[{\"fieldName\": \"recipeName\",\"rejectedValue\": [],\"message\": \"at least one ingredient must be included\"}]")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @GetMapping(value = "/search-recipes/ingredients")
+    public ResponseEntity<List<String>> searchRecipesByIngredients(@RequestParam("include") @NotEmpty(message = "at least one ingredient must be included") List<@NotBlank(message = "ingredients cannot be blank") String> include,
+                                                                   @RequestParam(value = "exclude", required = false) List<String> exclude,
+                                                                   @RequestParam(value = "maxResults", required = false) @Min(value = 1, message = "maxResults must be greater than zero") Integer maxResults) {
+        return ResponseEntity.ok(recipeSearchService.searchByIngredients(include, exclude, maxResults));
+    }
+
+    /**
+     * Endpoint used to find recipes by the words in their name and cooking instructions
+     *
+     * @param query free text query
+     * @param page  zero-based page of results
+     * @param size  number of recipes per page
+     * @return ResponseEntity with HttpStatus.OK and the requested page of recipes, best match first
+     */
+    @Operation(
+            parameters = {
+                    @Parameter(name = "query", in = ParameterIn.QUERY, required = true),
+                    @Parameter(name = "page", in = ParameterIn.QUERY, description = "zero-based page, defaults to 0"),
+                    @Parameter(name = "size", in = ParameterIn.QUERY, description = "page size, capped by the server")
+            },
+            security = {
+                    @SecurityRequirement(name = "Basic Auth")
+            },
+            method = "GET",
+            description = "Finds the recipes whose name or cooking instructions match the query, best match first",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "The request has succeeded.",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = {
+                                                    @ExampleObject("'{\"recipes\": [{\"creationDateTime\": \"09‐03‐2022 19:39\",\"name\": \"pizza_quatro_fromaggi\",\"vegetarian\": false,\"servings\": 4,\"ingredients\": [\"pizza crust\",\"tomato\",\"blue cheese\"],\"cookingInstructions\": \"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}],\"page\": 0,\"size\": 20,\"totalHits\": 1}'"),
+                                            }
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The server cannot or will not process the request due to something that is perceived to be a client error (e.g., malformed request syntax, invalid request message framing, or deceptive request routing).",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            examples = @ExampleObject("[{\"fieldName\": \"recipeName\",\"rejectedValue\": \" \",\"message\": \"query cannot be blank\"}]")
+                                    )
+                            }
+                    ),
+                    @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
+                    @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
+            }
+    )
+    @GetMapping(value = "/search-recipes/text")
+    public ResponseEntity<RecipeSearchPageDTO> searchRecipesByText(@RequestParam("query") @NotBlank(message = "query cannot be blank") String query,
+                                                                   @RequestParam(value = "page", defaultValue = "0") @Min(value = 0, message = "page cannot be negative") int page,
+                                                                   @RequestParam(value = "size", required = false) @Min(value = 1, message = "size must be greater than zero") Integer size) {
+        return ResponseEntity.ok(recipeSearchService.searchByText(query, page, size));
+    }
+
+    /**
+     * Endpoint used to update recipes in the recipe system. With an If-Match header the recipe is only updated if it
+     * is still at the version given there, otherwise HttpStatus.PRECONDITION_FAILED is returned. Without it the last
+     * write wins: an update that races with another writer is applied again on top of it
      *
      * @param recipeDTO name of the recipe the user is updating
-     * @return ResponseEntity with status no-content if the request is processed successfully
+     * @param ifMatch   ETag of the version the update is based on, if any
+     * @return ResponseEntity with status no-content and the ETag of the new version if the request is processed
+     * successfully
      * @throws RecipeNotFoundException if a recipe with that name is not found on the system
      */
     @Operation(
             method = "POST",
             description = "Updates an existing recipe",
+            parameters = {
+                    @Parameter(name = "If-Match", in = ParameterIn.HEADER, description = "ETag of the version the update is based on")
+            },
             security = {
                     @SecurityRequirement(name = "Basic Auth")
             },
@@ -190,25 +566,31 @@ public class RecipeController {
                     ),
                     @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
                     @ApiResponse(responseCode = "403", description = "The server understood the request but the user has forbidden access to this resource."),
+                    @ApiResponse(responseCode = "412", description = "The recipe is not at the version given in If-Match."),
                     @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
             }
     )
     @PostMapping(value = "/update-recipe", produces = {"application/json"})
-    public ResponseEntity<Void> updateRecipe(@Validated @RequestBody RecipeDTO recipeDTO) throws RecipeNotFoundException {
-        recipeService.updateRecipe(recipeDTO);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> updateRecipe(@Validated @RequestBody RecipeDTO recipeDTO,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws RecipeNotFoundException {
+        requestPayloadLogger.log("update-recipe", recipeDTO);
+        RecipeVersion version = recipeService.updateRecipe(recipeDTO, expectedVersion(recipeDTO.getName(), ifMatch));
+        return ResponseEntity.noContent().eTag(version.toETag()).build();
     }
 
     /**
-     * Endpoint used to delete recipes from the recipe system
+     * Endpoint used to delete recipes from the recipe system. With an If-Match header the recipe is only deleted if it
+     * is still at the version given there, otherwise HttpStatus.PRECONDITION_FAILED is returned
      *
      * @param recipeName the name of the recipe to be deleted
+     * @param ifMatch    ETag of the version the client expects to delete, if any
      * @return return ResponseEntity with HttpStatus.NO_CONTENT if a recipe is deleted from the system
      * @throws RecipeNotFoundException if no recipe with recipeName is found in the database
      */
     @Operation(
             parameters = {
-                    @Parameter(name = "name", in = ParameterIn.PATH, required = true)
+                    @Parameter(name = "name", in = ParameterIn.PATH, required = true),
+                    @Parameter(name = "If-Match", in = ParameterIn.HEADER, description = "ETag of the version expected to be deleted")
             },
             security = {
                     @SecurityRequirement(name = "Basic Auth")
@@ -229,13 +611,34 @@ public class RecipeController {
                     ),
                     @ApiResponse(responseCode = "401", description = "The server understood the request but the user has unauthorized access to this resource."),
                     @ApiResponse(responseCode = "403", description = "The server understood the request but the user has forbidden access to this resource."),
+                    @ApiResponse(responseCode = "412", description = "The recipe is not at the version given in If-Match."),
                     @ApiResponse(responseCode = "500", description = "The server encountered an unexpected condition that prevented it from fulfilling the request.")
             }
     )
     @DeleteMapping(value = "/delete-recipe/{name}")
-    public ResponseEntity<Void> deleteRecipe(@Validated @PathVariable("name")  @NotBlank(message = "path variable cannot be blank") String recipeName) throws RecipeNotFoundException {
-        recipeService.deleteRecipe(recipeName);
+    public ResponseEntity<Void> deleteRecipe(@Validated @PathVariable("name")  @NotBlank(message = "path variable cannot be blank") String recipeName,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws RecipeNotFoundException {
+        RecipeVersion expectedVersion = expectedVersion(recipeName, ifMatch);
+        if (expectedVersion == null) {
+            recipeService.deleteRecipe(recipeName);
+        } else {
+            recipeService.deleteRecipe(recipeName, expectedVersion);
+        }
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Reads the version a conditional write expects from its If-Match header. A missing header and "*" do not
+     * constrain the version
+     *
+     * @throws RecipeVersionConflictException if the header holds something that cannot match a version of the recipe
+     */
+    private static RecipeVersion expectedVersion(String recipeName, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return RecipeVersion.fromETag(ifMatch).orElseThrow(() -> new RecipeVersionConflictException(
+                "If-Match does not hold a version of recipe " + recipeName, true));
+    }
+
 }
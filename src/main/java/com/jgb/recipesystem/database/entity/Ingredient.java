@@ -0,0 +1,49 @@
+package com.jgb.recipesystem.database.entity;
+
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+/**
+ * Ingredient
+ * <br>
+ * <code>com.jgb.recipesystem.database.entity.Ingredient</code>
+ * <br>
+ * Entry of the ingredient dictionary. Every distinct ingredient name is stored once and recipes refer to it by id.
+ * Entries are never updated nor deleted.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Entity
+@Immutable
+@Table(name = "ingredient")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class Ingredient {
+
+    /**
+     * Longest name the ingredient column takes
+     */
+    public static final int NAME_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_id")
+    @GenericGenerator(name = "ingredient_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "hibernate_sequence"),
+            @Parameter(name = "increment_size", value = "" + Recipe.ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
+    private Long id;
+    @Column(nullable = false, unique = true, length = NAME_LENGTH)
+    private String name;
+
+    public Ingredient(String name) {
+        this.name = name;
+    }
+}
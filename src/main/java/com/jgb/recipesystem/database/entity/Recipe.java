@@ -1,11 +1,15 @@
 package com.jgb.recipesystem.database.entity;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Recipe
@@ -17,28 +21,88 @@ import java.util.List;
  * @since 07 March 2022
  */
 @Entity
-@Table(name = "recipe")
+@Table(name = "recipe", uniqueConstraints = @UniqueConstraint(name = Recipe.NAME_CONSTRAINT, columnNames = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString
 public class Recipe {
 
+    /**
+     * Number of ids a node reserves with each round trip to hibernate_sequence
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Unique key on the recipe name, the only constraint a create can break with a valid recipe
+     */
+    public static final String NAME_CONSTRAINT = "uk_recipe_name";
+
+    /**
+     * Longest name the recipe column takes
+     */
+    public static final int NAME_LENGTH = 50;
+
+    /**
+     * Longest cooking instructions the recipe column takes
+     */
+    public static final int COOKING_INSTRUCTIONS_LENGTH = 2000;
+
+    // pooled-lo hands out ids [next_val, next_val + 50) after a single update of hibernate_sequence,
+    // MySQL has no sequences so Hibernate keeps using the one-row table
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_id")
+    @GenericGenerator(name = "recipe_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "hibernate_sequence"),
+            @Parameter(name = "increment_size", value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
     @Column(nullable = false)
     private Timestamp creationDateTime;
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false, length = NAME_LENGTH)
     private String name;
     @Column(nullable = false)
     private boolean vegetarian;
     @Column(nullable = false)
     private Integer servings;
-    @ElementCollection
-    @CollectionTable(name = "ingredients_list", joinColumns = @JoinColumn(name = "id")) // 2
-    @Column(name = "ingredients_list")
-    private List<String> ingredients;
+    // the order column lets Hibernate update, insert or delete single positions instead of rewriting the list
+    @ManyToMany
+    @JoinTable(name = "recipe_ingredient", joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"))
+    @OrderColumn(name = "ingredient_order")
+    @ToString.Exclude
+    private List<Ingredient> ingredients;
+    @Column(length = COOKING_INSTRUCTIONS_LENGTH)
     private String cookingInstructions;
+    // incremented by Hibernate when a loaded recipe is flushed, update statements written by hand increment it
+    // themselves
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Overwrites the ingredients position by position, keeping the same list instance, so that flushing a managed
+     * recipe only writes the positions that changed
+     *
+     * @param newIngredients ingredients of the recipe, in order
+     */
+    public void replaceIngredients(List<Ingredient> newIngredients) {
+        if (ingredients == null) {
+            ingredients = new ArrayList<>(newIngredients);
+            return;
+        }
+        int common = Math.min(ingredients.size(), newIngredients.size());
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(ingredients.get(i).getId(), newIngredients.get(i).getId())) {
+                ingredients.set(i, newIngredients.get(i));
+            }
+        }
+        if (newIngredients.size() > common) {
+            ingredients.addAll(newIngredients.subList(common, newIngredients.size()));
+        } else if (ingredients.size() > common) {
+            ingredients.subList(common, ingredients.size()).clear();
+        }
+    }
 
 }
@@ -0,0 +1,23 @@
+package com.jgb.recipesystem.database.repository;
+
+import com.jgb.recipesystem.database.entity.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * IngredientRepository
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.IngredientRepository</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+
+    List<Ingredient> findAllByNameIn(Collection<String> names);
+}
@@ -0,0 +1,132 @@
+package com.jgb.recipesystem.database.repository;
+
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ReactiveRecipeReader
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.ReactiveRecipeReader</code>
+ * <br>
+ * Non-blocking reads of recipes over R2DBC. A recipe or a whole page of recipes is read with its ingredients in a
+ * single statement that joins the ingredient rows, and the joined rows are folded back into one recipe each.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRecipeReader {
+
+    private static final String SELECT_JOINED = "select r.id, r.version, r.name, r.vegetarian, r.servings,"
+            + " r.cooking_instructions, r.creation_date_time, i.name as ingredient";
+    private static final String JOIN_INGREDIENTS = " left join recipe_ingredient ri on ri.recipe_id = r.id"
+            + " left join ingredient i on i.id = ri.ingredient_id";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @param name name of the recipe
+     * @return the recipe with its ingredients in order and its version, or an empty mono if there is no recipe with
+     * that name
+     */
+    public Mono<VersionedRecipe> findOneByName(String name) {
+        DatabaseClient.GenericExecuteSpec statement = databaseClient
+                .sql(SELECT_JOINED + " from recipe r" + JOIN_INGREDIENTS + " where r.name = :name order by ri.ingredient_order")
+                .bind("name", name);
+        return fold(statement).next();
+    }
+
+    /**
+     * Reads one page of the recipe listing, seeking past the key of the previous page
+     *
+     * @param order       key the recipes are ordered and paginated by
+     * @param after       key of the last recipe of the previous page, null for the first page
+     * @param vegetarian  only list recipes with this vegetarian flag, if not null
+     * @param minServings only list recipes with at least this many servings, if not null
+     * @param maxServings only list recipes with at most this many servings, if not null
+     * @param limit       largest number of recipes to read
+     * @return the recipes of the page with their versions, in listing order
+     */
+    public Flux<VersionedRecipe> findPage(RecipeListingOrder order, String after, Boolean vegetarian, Integer minServings,
+                                      Integer maxServings, int limit) {
+        String key = order == RecipeListingOrder.ID ? "id" : "name";
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = new ArrayList<>();
+        if (after != null) {
+            conditions.add(key + " > :after");
+            parameters.put("after", order == RecipeListingOrder.ID ? (Object) Long.valueOf(after) : after);
+        }
+        if (vegetarian != null) {
+            conditions.add("vegetarian = :vegetarian");
+            parameters.put("vegetarian", vegetarian);
+        }
+        if (minServings != null) {
+            conditions.add("servings >= :minServings");
+            parameters.put("minServings", minServings);
+        }
+        if (maxServings != null) {
+            conditions.add("servings <= :maxServings");
+            parameters.put("maxServings", maxServings);
+        }
+        parameters.put("limit", limit);
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(SELECT_JOINED
+                + " from (select * from recipe" + where + " order by " + key + " limit :limit) r" + JOIN_INGREDIENTS
+                + " order by r." + key + ", ri.ingredient_order");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            statement = statement.bind(parameter.getKey(), parameter.getValue());
+        }
+        return fold(statement);
+    }
+
+    /**
+     * Folds the joined rows, which come ordered by recipe and then by ingredient position, into recipes
+     */
+    private Flux<VersionedRecipe> fold(DatabaseClient.GenericExecuteSpec statement) {
+        return statement.map(ReactiveRecipeReader::toJoinedRow).all()
+                .bufferUntilChanged(JoinedRow::id)
+                .map(ReactiveRecipeReader::toVersionedRecipe);
+    }
+
+    private static JoinedRow toJoinedRow(Row row) {
+        Object vegetarian = row.get("vegetarian");
+        return new JoinedRow(row.get("id", Long.class), row.get("version", Long.class), row.get("name", String.class),
+                vegetarian instanceof Number number ? number.intValue() != 0 : Boolean.TRUE.equals(vegetarian),
+                row.get("servings", Integer.class), row.get("cooking_instructions", String.class),
+                row.get("creation_date_time", LocalDateTime.class), row.get("ingredient", String.class));
+    }
+
+    private static VersionedRecipe toVersionedRecipe(List<JoinedRow> rows) {
+        JoinedRow first = rows.get(0);
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(first.name());
+        recipeDTO.setVegetarian(first.vegetarian());
+        recipeDTO.setServings(first.servings());
+        recipeDTO.setCookingInstructions(first.cookingInstructions());
+        recipeDTO.setCreationDateTime(RecipeMapper.MAPPER.mapRecipeCreationDateTime(Timestamp.valueOf(first.creationDateTime())));
+        recipeDTO.setIngredients(rows.stream().map(JoinedRow::ingredient).filter(Objects::nonNull).toList());
+        return new VersionedRecipe(recipeDTO, new RecipeVersion(first.id(), first.version()));
+    }
+
+    private record JoinedRow(long id, long version, String name, boolean vegetarian, Integer servings, String cookingInstructions,
+                             LocalDateTime creationDateTime, String ingredient) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.jgb.recipesystem.database.repository;
+
+import com.jgb.recipesystem.configuration.RecipeExportProperties;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * RecipeExportReader
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeExportReader</code>
+ * <br>
+ * Reads the whole recipe catalogue in a single forward-only scan that joins the ingredients of every recipe. Rows are
+ * fetched from the database a few at a time and every recipe is handed over as soon as its last row is read, so
+ * memory use does not depend on the size of the catalogue.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Repository
+@EnableConfigurationProperties(RecipeExportProperties.class)
+public class RecipeExportReader {
+
+    private static final String SELECT_ALL = "select " + RecipeRowFolder.COLUMNS + " from recipe r"
+            + RecipeRowFolder.JOINS + " order by r.id, ri.ingredient_order";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeExportReader(DataSource dataSource, RecipeExportProperties exportProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(exportProperties.getFetchSize());
+    }
+
+    /**
+     * Scans every recipe, ordered by id
+     *
+     * @param consumer receives every recipe with its ingredients in order, on the calling thread
+     */
+    public void forEach(Consumer<RecipeDTO> consumer) {
+        RecipeRowFolder folder = new RecipeRowFolder(recipe -> consumer.accept(recipe.recipe()));
+        jdbcTemplate.query(SELECT_ALL, folder);
+        folder.finish();
+    }
+}
@@ -0,0 +1,20 @@
+package com.jgb.recipesystem.database.repository;
+
+/**
+ * RecipeIngredientRow
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeIngredientRow</code>
+ * <br>
+ * Id and version of a recipe next to the dictionary id of one of its ingredients, as returned by {@link RecipeRepository#findIngredientRowsByName}.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public interface RecipeIngredientRow {
+
+    Long getId();
+
+    Long getVersion();
+
+    Long getIngredientId();
+}
@@ -0,0 +1,27 @@
+package com.jgb.recipesystem.database.repository;
+
+import java.util.List;
+
+/**
+ * RecipeIngredientWriter
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeIngredientWriter</code>
+ * <br>
+ * Writes recipe_ingredient rows directly, for updates that only touch the ingredients that changed.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public interface RecipeIngredientWriter {
+
+    /**
+     * Turns the stored ingredients of a recipe into the given ones, comparing them position by position. Positions
+     * whose ingredient changed are updated, new positions are inserted and positions past the end are deleted,
+     * with at most one statement or JDBC batch each. Nothing is written if both lists are equal
+     *
+     * @param recipeId              id of the recipe
+     * @param currentIngredientIds  dictionary ids of the ingredients currently stored, in order
+     * @param ingredientIds         dictionary ids of the ingredients the recipe has to end up with, in order
+     */
+    void updateIngredients(long recipeId, List<Long> currentIngredientIds, List<Long> ingredientIds);
+}
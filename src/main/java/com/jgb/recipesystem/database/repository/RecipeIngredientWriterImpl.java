@@ -0,0 +1,62 @@
+package com.jgb.recipesystem.database.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * RecipeIngredientWriterImpl
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeIngredientWriterImpl</code>
+ * <br>
+ * {@link RecipeIngredientWriter} fragment of {@link RecipeRepository}, backed by JDBC.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@RequiredArgsConstructor
+public class RecipeIngredientWriterImpl implements RecipeIngredientWriter {
+
+    private static final String UPDATE_INGREDIENT =
+            "update recipe_ingredient set ingredient_id = ? where recipe_id = ? and ingredient_order = ?";
+    private static final String INSERT_INGREDIENT =
+            "insert into recipe_ingredient (recipe_id, ingredient_order, ingredient_id) values (?, ?, ?)";
+    private static final String DELETE_INGREDIENTS_FROM =
+            "delete from recipe_ingredient where recipe_id = ? and ingredient_order >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void updateIngredients(long recipeId, List<Long> currentIngredientIds, List<Long> ingredientIds) {
+        int common = Math.min(currentIngredientIds.size(), ingredientIds.size());
+        List<Integer> changedPositions = new ArrayList<>();
+        for (int i = 0; i < common; i++) {
+            if (!Objects.equals(currentIngredientIds.get(i), ingredientIds.get(i))) {
+                changedPositions.add(i);
+            }
+        }
+        if (!changedPositions.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_INGREDIENT, changedPositions, changedPositions.size(), (statement, position) -> {
+                statement.setLong(1, ingredientIds.get(position));
+                statement.setLong(2, recipeId);
+                statement.setInt(3, position);
+            });
+        }
+        if (ingredientIds.size() > common) {
+            List<Integer> newPositions = new ArrayList<>();
+            for (int i = common; i < ingredientIds.size(); i++) {
+                newPositions.add(i);
+            }
+            jdbcTemplate.batchUpdate(INSERT_INGREDIENT, newPositions, newPositions.size(), (statement, position) -> {
+                statement.setLong(1, recipeId);
+                statement.setInt(2, position);
+                statement.setLong(3, ingredientIds.get(position));
+            });
+        } else if (currentIngredientIds.size() > common) {
+            jdbcTemplate.update(DELETE_INGREDIENTS_FROM, recipeId, common);
+        }
+    }
+}
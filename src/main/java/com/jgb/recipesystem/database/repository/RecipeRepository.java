@@ -1,10 +1,19 @@
 package com.jgb.recipesystem.database.repository;
 
 import com.jgb.recipesystem.database.entity.Recipe;
-import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,9 +26,116 @@ import java.util.Optional;
  * @since 07 March 2022
  */
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeIngredientWriter, RecipeRowReader {
 
+    /**
+     * Loads a recipe together with its ingredients in a single statement. Reads that only serve the recipe back use
+     * {@link #readByName(String)} instead, which skips hydrating the entity
+     */
+    @EntityGraph(attributePaths = "ingredients")
     Optional<Recipe> findOneByName(String recipeName);
 
-    void deleteByName(String name);
+    /**
+     * Reads the id and version of a recipe without its ingredients
+     */
+    @Query("select new com.jgb.recipesystem.model.RecipeVersion(r.id, r.version) from Recipe r where r.name = :name")
+    Optional<RecipeVersion> findVersionByName(@Param("name") String name);
+
+    /**
+     * Reads the id, the version and the ingredient ids of a recipe in one statement, one row per ingredient in
+     * ingredient order. Returns no rows if there is no recipe with that name
+     */
+    @Query("select r.id as id, r.version as version, i.id as ingredientId from Recipe r left join r.ingredients i"
+            + " where r.name = :name order by index(i)")
+    List<RecipeIngredientRow> findIngredientRowsByName(@Param("name") String name);
+
+    /**
+     * Locks the row of a recipe until the transaction ends, so that no other writer changes its version in the
+     * meantime. Reads that follow it in the same transaction see the latest committed version
+     *
+     * @return the version of the recipe, empty if there is no recipe with that name
+     */
+    @Query(value = "select version from recipe where name = :name for update", nativeQuery = true)
+    Optional<Long> lockVersionByName(@Param("name") String name);
+
+    /**
+     * Overwrites the columns of a recipe that can be updated and increments its version, without loading it first.
+     * The recipe is only updated if it is still at the expected version, so the check and the write are a single
+     * statement and no lock is held between reading the recipe and writing it
+     *
+     * @return number of recipes updated, 0 if the recipe is gone or at another version
+     */
+    @Modifying
+    @Query("update Recipe r set r.vegetarian = :vegetarian, r.servings = :servings,"
+            + " r.cookingInstructions = :cookingInstructions, r.version = r.version + 1"
+            + " where r.id = :id and r.version = :version")
+    int updateRecipe(@Param("id") Long id, @Param("version") long version, @Param("vegetarian") boolean vegetarian,
+                     @Param("servings") Integer servings, @Param("cookingInstructions") String cookingInstructions);
+
+    /**
+     * Deletes a recipe with a single statement. Hibernate deletes its recipe_ingredient rows with one more statement
+     * before it, the ingredients themselves stay in the dictionary
+     *
+     * @return number of recipes deleted
+     */
+    @Modifying
+    @Query("delete from Recipe r where r.name = :name")
+    int deleteRecipeByName(@Param("name") String name);
+
+    /**
+     * Deletes a recipe with a single statement if it is still at the expected version
+     *
+     * @return number of recipes deleted, 0 if the recipe is gone or at another version
+     */
+    @Modifying
+    @Query("delete from Recipe r where r.name = :name and r.id = :id and r.version = :version")
+    int deleteRecipeByNameAndVersion(@Param("name") String name, @Param("id") Long id, @Param("version") long version);
+
+    /**
+     * Seeks the ids of the recipes that come after <code>afterId</code> in id order and match the filters.
+     * Null filters are not applied.
+     */
+    @Query("select r.id from Recipe r"
+            + " where (:afterId is null or r.id > :afterId)"
+            + " and (:vegetarian is null or r.vegetarian = :vegetarian)"
+            + " and (:minServings is null or r.servings >= :minServings)"
+            + " and (:maxServings is null or r.servings <= :maxServings)"
+            + " order by r.id")
+    List<Long> findIdsAfterId(@Param("afterId") Long afterId, @Param("vegetarian") Boolean vegetarian,
+                              @Param("minServings") Integer minServings, @Param("maxServings") Integer maxServings,
+                              Pageable pageable);
+
+    /**
+     * Seeks the ids of the recipes that come after <code>afterName</code> in name order and match the filters.
+     * Null filters are not applied.
+     */
+    @Query("select r.id from Recipe r"
+            + " where (:afterName is null or r.name > :afterName)"
+            + " and (:vegetarian is null or r.vegetarian = :vegetarian)"
+            + " and (:minServings is null or r.servings >= :minServings)"
+            + " and (:maxServings is null or r.servings <= :maxServings)"
+            + " order by r.name")
+    List<Long> findIdsAfterName(@Param("afterName") String afterName, @Param("vegetarian") Boolean vegetarian,
+                                @Param("minServings") Integer minServings, @Param("maxServings") Integer maxServings,
+                                Pageable pageable);
+
+    /**
+     * Loads the recipes with the given ids together with their ingredients in a single statement
+     */
+    @Query("select distinct r from Recipe r left join fetch r.ingredients where r.id in :ids")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Recipe> findAllWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads the recipes with the given names together with their ingredients in a single statement
+     */
+    @Query("select distinct r from Recipe r left join fetch r.ingredients where r.name in :names")
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    List<Recipe> findAllWithIngredientsByNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * Returns which of the given names are already taken by a recipe
+     */
+    @Query("select r.name from Recipe r where r.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
 }
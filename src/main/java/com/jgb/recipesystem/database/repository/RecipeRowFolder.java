@@ -0,0 +1,70 @@
+package com.jgb.recipesystem.database.repository;
+
+import com.jgb.recipesystem.database.routing.ReplicaRoutingDataSource;
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * RecipeRowFolder
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeRowFolder</code>
+ * <br>
+ * Folds rows of a recipe joined with its ingredients into recipes. Rows have to come ordered by recipe and then by
+ * ingredient position, and hold the columns of {@link #COLUMNS} and {@link #JOINS}. Call {@link #finish()} once
+ * the query is over to hand over the last recipe.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+final class RecipeRowFolder implements RowCallbackHandler {
+
+    static final String COLUMNS = "r.id, r.version, r.name, r.vegetarian, r.servings, r.cooking_instructions,"
+            + " r.creation_date_time, i.name as ingredient";
+    static final String JOINS = " left join recipe_ingredient ri on ri.recipe_id = r.id"
+            + " left join ingredient i on i.id = ri.ingredient_id";
+
+    private final Consumer<VersionedRecipe> consumer;
+    private VersionedRecipe current;
+
+    RecipeRowFolder(Consumer<VersionedRecipe> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void processRow(ResultSet resultSet) throws SQLException {
+        long id = resultSet.getLong("id");
+        if (current == null || id != current.version().recipeId()) {
+            if (current != null) {
+                consumer.accept(current);
+            }
+            RecipeDTO recipe = new RecipeDTO();
+            recipe.setName(resultSet.getString("name"));
+            recipe.setVegetarian(resultSet.getBoolean("vegetarian"));
+            recipe.setServings(resultSet.getInt("servings"));
+            recipe.setCookingInstructions(resultSet.getString("cooking_instructions"));
+            recipe.setCreationDateTime(RecipeMapper.MAPPER.mapRecipeCreationDateTime(resultSet.getTimestamp("creation_date_time")));
+            recipe.setIngredients(new ArrayList<>());
+            current = new VersionedRecipe(recipe, new RecipeVersion(id, resultSet.getLong("version")),
+                    ReplicaRoutingDataSource.isReadingFromReplica());
+        }
+        String ingredient = resultSet.getString("ingredient");
+        if (ingredient != null) {
+            current.recipe().getIngredients().add(ingredient);
+        }
+    }
+
+    void finish() {
+        if (current != null) {
+            consumer.accept(current);
+            current = null;
+        }
+    }
+}
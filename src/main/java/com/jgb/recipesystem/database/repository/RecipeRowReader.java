@@ -0,0 +1,38 @@
+package com.jgb.recipesystem.database.repository;
+
+import com.jgb.recipesystem.model.VersionedRecipe;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * RecipeRowReader
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeRowReader</code>
+ * <br>
+ * Reads recipes straight into DTOs from the joined recipe and ingredient rows, for reads that only serve the recipe
+ * back and have no use for managed entities.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public interface RecipeRowReader {
+
+    /**
+     * Reads a recipe together with its ingredients and version in a single statement
+     */
+    Optional<VersionedRecipe> readByName(String recipeName);
+
+    /**
+     * Reads the recipes with the given names together with their ingredients and versions in a single statement,
+     * ordered by id
+     */
+    List<VersionedRecipe> readAllByNameIn(Collection<String> recipeNames);
+
+    /**
+     * Reads the recipes with the given ids together with their ingredients and versions in a single statement,
+     * ordered by id
+     */
+    List<VersionedRecipe> readAllByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,57 @@
+package com.jgb.recipesystem.database.repository;
+
+import com.jgb.recipesystem.model.VersionedRecipe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * RecipeRowReaderImpl
+ * <br>
+ * <code>com.jgb.recipesystem.database.repository.RecipeRowReaderImpl</code>
+ * <br>
+ * {@link RecipeRowReader} fragment of {@link RecipeRepository}, backed by JDBC. Rows are folded into DTOs as they are
+ * read, nothing is registered in the persistence context.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@RequiredArgsConstructor
+public class RecipeRowReaderImpl implements RecipeRowReader {
+
+    private static final String SELECT = "select " + RecipeRowFolder.COLUMNS + " from recipe r" + RecipeRowFolder.JOINS;
+    private static final String ORDER = " order by r.id, ri.ingredient_order";
+    private static final String SELECT_BY_NAME = SELECT + " where r.name = :name" + ORDER;
+    private static final String SELECT_BY_NAMES = SELECT + " where r.name in (:names)" + ORDER;
+    private static final String SELECT_BY_IDS = SELECT + " where r.id in (:ids)" + ORDER;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<VersionedRecipe> readByName(String recipeName) {
+        return read(SELECT_BY_NAME, Map.of("name", recipeName)).stream().findFirst();
+    }
+
+    @Override
+    public List<VersionedRecipe> readAllByNameIn(Collection<String> recipeNames) {
+        return recipeNames.isEmpty() ? List.of() : read(SELECT_BY_NAMES, Map.of("names", recipeNames));
+    }
+
+    @Override
+    public List<VersionedRecipe> readAllByIdIn(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : read(SELECT_BY_IDS, Map.of("ids", ids));
+    }
+
+    private List<VersionedRecipe> read(String sql, Map<String, ?> parameters) {
+        List<VersionedRecipe> recipes = new ArrayList<>();
+        RecipeRowFolder folder = new RecipeRowFolder(recipes::add);
+        jdbcTemplate.query(sql, parameters, folder);
+        folder.finish();
+        return recipes;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jgb.recipesystem.database.routing;
+
+import com.jgb.recipesystem.configuration.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReplicaRouting
+ * <br>
+ * <code>com.jgb.recipesystem.database.routing.ReplicaRouting</code>
+ * <br>
+ * Puts the application data source behind a {@link ReplicaRoutingDataSource}, so that JPA, JDBC templates and
+ * transactions all route through it. Runs before the post processors without an order, such as the
+ * <code>JdbcPinningGuard</code>, which then guard the replica connections as well.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class ReplicaRouting implements BeanPostProcessor, Ordered, DisposableBean {
+
+    private final ReplicaProperties properties;
+    private final List<ReplicaRoutingDataSource> routingDataSources = new ArrayList<>();
+
+    public ReplicaRouting(ReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * @param primary data source of the primary
+     * @return a data source that sends read-only transactions to the replicas and the rest to the primary
+     */
+    public DataSource wrap(DataSource primary) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica node : properties.getNodes()) {
+            replicas.add(replicaPool(replicas.size() + 1, node, primary));
+        }
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas, properties.getSelection());
+        routingDataSource.startHealthChecks(properties.getHealthCheckInterval(), properties.getConnectionTimeout());
+        routingDataSources.add(routingDataSource);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void destroy() {
+        routingDataSources.forEach(ReplicaRoutingDataSource::close);
+    }
+
+    private HikariDataSource replicaPool(int number, ReplicaProperties.Replica node, DataSource primary) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + number);
+        pool.setJdbcUrl(node.getUrl());
+        pool.setUsername(node.getUsername());
+        pool.setPassword(node.getPassword());
+        if (primary instanceof HikariDataSource primaryPool) {
+            if (node.getUsername() == null) {
+                pool.setUsername(primaryPool.getUsername());
+            }
+            if (node.getPassword() == null) {
+                pool.setPassword(primaryPool.getPassword());
+            }
+        }
+        pool.setMaximumPoolSize(node.getMaximumPoolSize());
+        pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        // a replica that is down at startup is taken out by the first failed read instead of failing startup
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
@@ -0,0 +1,222 @@
+package com.jgb.recipesystem.database.routing;
+
+import com.jgb.recipesystem.configuration.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ReplicaRoutingDataSource
+ * <br>
+ * <code>com.jgb.recipesystem.database.routing.ReplicaRoutingDataSource</code>
+ * <br>
+ * Hands out connections to a healthy replica inside read-only transactions and to the primary everywhere else.
+ * The transaction is only known to be read-only once it has started, so this data source has to sit behind a
+ * <code>LazyConnectionDataSourceProxy</code>, which asks for the connection when the first statement runs.
+ * <br>
+ * A replica that fails a connection attempt or a health check stops getting reads until it passes a health check
+ * again. With no healthy replica reads go to the primary. A transaction handed a replica connection is marked for as
+ * long as it lasts, see {@link #isReadingFromReplica()}.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+    private static final Object REPLICA_READ = new Object();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties.Selection selection;
+    private final AtomicInteger turn = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param primary   data source of the primary, not closed by this one
+     * @param replicas  connection pools of the replicas, their pool names are used in the logs
+     * @param selection how a replica is picked among the healthy ones
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+                                    ReplicaProperties.Selection selection) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+    }
+
+    /**
+     * Runs a read on the primary even inside a read-only transaction. Only the connection of a transaction that has
+     * not run any statement yet can still be routed, so the read has to be the first one of its transaction
+     *
+     * @param read read to be run
+     * @return the result of the read
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    /**
+     * Tells whether the current transaction reads from a replica. What it reads may be behind the primary and must
+     * not be cached, or it would be served as current after the replica has caught up
+     *
+     * @return true once a replica connection has been handed to the current transaction, until it completes
+     */
+    public static boolean isReadingFromReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READ);
+    }
+
+    /**
+     * Checks every replica at a fixed interval, on a daemon thread
+     *
+     * @param interval time between two checks
+     * @param timeout  time a replica has to answer a check
+     */
+    public void startHealthChecks(Duration interval, Duration timeout) {
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        healthChecks.scheduleWithFixedDelay(() -> checkHealth(timeoutSeconds), interval.toMillis(),
+                interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_READS.get() != null) {
+            return primary.getConnection();
+        }
+        for (Replica replica = select(); replica != null; replica = select()) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                markReplicaRead();
+                return connection;
+            } catch (SQLException e) {
+                replica.setHealthy(false, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are opened with the credentials of each pool");
+    }
+
+    /**
+     * Unwraps to the primary, so that pool metrics and health of the primary keep working through this data source
+     */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Closes the replica pools and stops the health checks. The primary is left open
+     */
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * @return pool names of the replicas currently getting reads
+     */
+    List<String> healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).map(replica -> replica.dataSource.getPoolName()).toList();
+    }
+
+    void checkHealth(int timeoutSeconds) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.setHealthy(connection.isValid(timeoutSeconds), "connection is not valid");
+            } catch (SQLException e) {
+                replica.setHealthy(false, e.getMessage());
+            }
+        }
+    }
+
+    private static void markReplicaRead() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_READ)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READ, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READ);
+            }
+        });
+    }
+
+    private Replica select() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (selection == ReplicaProperties.Selection.LEAST_LOADED) {
+            return healthy.stream().min(Comparator.comparingInt(Replica::activeConnections)).orElseThrow();
+        }
+        return healthy.get(Math.floorMod(turn.getAndIncrement(), healthy.size()));
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+
+        private void setHealthy(boolean healthy, String reason) {
+            if (this.healthy == healthy) {
+                return;
+            }
+            this.healthy = healthy;
+            if (healthy) {
+                log.info("Replica {} is back, it gets reads again", dataSource.getPoolName());
+            } else {
+                log.warn("Replica {} is down, its reads go elsewhere: {}", dataSource.getPoolName(), reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.jgb.recipesystem.exception;
+
+/**
+ * InvalidCursorException
+ * <br>
+ * <code>com.jgb.recipesystem.exception.InvalidCursorException</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class InvalidCursorException extends Exception {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
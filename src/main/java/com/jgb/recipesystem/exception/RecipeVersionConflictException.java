@@ -0,0 +1,31 @@
+package com.jgb.recipesystem.exception;
+
+import lombok.Getter;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * RecipeVersionConflictException
+ * <br>
+ * <code>com.jgb.recipesystem.exception.RecipeVersionConflictException</code>
+ * <br>
+ * Thrown when a write on a recipe is refused because the recipe is no longer at the version the write was based on.
+ * Conditional writes fail this way when the version given by the client is not the current one. Unconditional
+ * updates fail this way when another writer committed between reading the recipe and writing it, but only inside
+ * the service, which applies them again with the recipe row locked, so they never reach the client.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Getter
+public class RecipeVersionConflictException extends OptimisticLockingFailureException {
+
+    /**
+     * Whether the write carried a version given by the client
+     */
+    private final boolean conditional;
+
+    public RecipeVersionConflictException(String message, boolean conditional) {
+        super(message);
+        this.conditional = conditional;
+    }
+}
@@ -1,9 +1,12 @@
 package com.jgb.recipesystem.exception.handler;
 
 import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.InvalidCursorException;
 import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.exception.RecipeVersionConflictException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -48,18 +51,31 @@ public class RecipeControllerExceptionHandler {
     }
 
     /**
-     * Handles DuplicateEntryException and RecipeNotFoundException exceptions
+     * Handles DuplicateEntryException, RecipeNotFoundException and InvalidCursorException exceptions
      * @param e exception thrown
      * @return ResponseEntity with HttpStatus.BadRequest and an error message
      */
     @ExceptionHandler(value = {
             DuplicateEntryException.class,
-            RecipeNotFoundException.class
+            RecipeNotFoundException.class,
+            InvalidCursorException.class
     })
     public ResponseEntity<Object> customException(Exception e) {
         return ResponseEntity.badRequest().body(ErrorMessage.builder().message(e.getMessage()).build());
     }
 
+    /**
+     * Handles RecipeVersionConflictException
+     * @param e exception thrown
+     * @return ResponseEntity with HttpStatus.PRECONDITION_FAILED and an error message. Only writes that asked for a
+     * version with If-Match get here, unconditional updates that race with another writer are applied again by the
+     * service instead
+     */
+    @ExceptionHandler(RecipeVersionConflictException.class)
+    public ResponseEntity<Object> recipeVersionConflictException(RecipeVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ErrorMessage.builder().message(e.getMessage()).build());
+    }
+
     private ErrorMessage mapToErrorMessage(FieldError e) {
         return ErrorMessage.builder().code(e.getCode()).message(e.getDefaultMessage())
                 .rejectedValue(e.getRejectedValue()).fieldName(e.getField()).build();
@@ -0,0 +1,119 @@
+package com.jgb.recipesystem.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jgb.recipesystem.configuration.PayloadLoggingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RequestPayloadLogger
+ * <br>
+ * <code>com.jgb.recipesystem.logging.RequestPayloadLogger</code>
+ * <br>
+ * Logs request payloads as JSON cut to a maximum length, for every request or for a sample of them, as configured per
+ * endpoint. Nothing is serialized nor allocated for endpoints whose payloads are not logged.
+ * <br>
+ * Entries go to the <code>com.jgb.recipesystem.payload</code> logger, which logback-spring.xml hands to an
+ * asynchronous appender that drops entries instead of blocking request threads when it falls behind.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@EnableConfigurationProperties(PayloadLoggingProperties.class)
+public class RequestPayloadLogger {
+
+    public static final String LOGGER_NAME = "com.jgb.recipesystem.payload";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final ObjectWriter objectWriter;
+    private final PayloadLoggingProperties.Endpoint defaults;
+    private final Map<String, PayloadLoggingProperties.Endpoint> endpoints;
+
+    public RequestPayloadLogger(ObjectMapper objectMapper, PayloadLoggingProperties properties) {
+        this.objectWriter = objectMapper.writer();
+        this.defaults = properties.getDefaults();
+        this.endpoints = new HashMap<>(properties.getEndpoints());
+    }
+
+    /**
+     * Logs the payload of a request, if the settings of the endpoint say so
+     *
+     * @param endpoint endpoint path without the leading slash, e.g. create-recipe
+     * @param payload  deserialized request body
+     */
+    public void log(String endpoint, Object payload) {
+        PayloadLoggingProperties.Endpoint settings = endpoints.getOrDefault(endpoint, defaults);
+        if (settings.getMode() == PayloadLoggingProperties.Mode.NONE || !log.isInfoEnabled()) {
+            return;
+        }
+        if (settings.getMode() == PayloadLoggingProperties.Mode.SAMPLED
+                && ThreadLocalRandom.current().nextDouble() >= settings.getSampleRate()) {
+            return;
+        }
+        CappedWriter json = new CappedWriter(settings.getMaxLength());
+        try {
+            objectWriter.writeValue(json, payload);
+        } catch (IOException e) {
+            log.warn("endpoint={} payload could not be serialized: {}", endpoint, e.getMessage());
+            return;
+        }
+        log.info("endpoint={} truncated={} payload={}", endpoint, json.isTruncated(), json);
+    }
+
+    /**
+     * Keeps the first characters written to it and counts the rest as truncated
+     */
+    private static final class CappedWriter extends Writer {
+
+        private final StringBuilder text;
+        private final int maxLength;
+        private boolean truncated;
+
+        private CappedWriter(int maxLength) {
+            this.text = new StringBuilder(Math.min(maxLength, 1024));
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            int kept = Math.min(length, maxLength - text.length());
+            text.append(buffer, offset, kept);
+            truncated |= kept < length;
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            int kept = Math.min(length, maxLength - text.length());
+            text.append(string, offset, offset + kept);
+            truncated |= kept < length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
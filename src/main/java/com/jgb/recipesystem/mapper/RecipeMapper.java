@@ -1,5 +1,6 @@
 package com.jgb.recipesystem.mapper;
 
+import com.jgb.recipesystem.database.entity.Ingredient;
 import com.jgb.recipesystem.database.entity.Recipe;
 import com.jgb.recipesystem.model.RecipeDTO;
 import org.mapstruct.*;
@@ -23,11 +24,14 @@ public interface RecipeMapper {
 
     RecipeMapper MAPPER = Mappers.getMapper(RecipeMapper.class);
 
+    DateTimeFormatter CREATION_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd‐MM‐yyyy HH:mm");
+
+    // ingredients have to be resolved to dictionary entries, see IngredientDictionary#references
     @Mappings({
             @Mapping(target = "name", source = "name"),
             @Mapping(target = "vegetarian", source = "vegetarian"),
             @Mapping(target = "servings", source = "servings"),
-            @Mapping(target = "ingredients", source = "ingredients"),
+            @Mapping(target = "ingredients", ignore = true),
             @Mapping(target = "cookingInstructions", source = "cookingInstructions"),
             @Mapping(target = "creationDateTime", ignore = true)
     })
@@ -38,10 +42,14 @@ public interface RecipeMapper {
     })
     RecipeDTO toRecipeDTO(Recipe recipe);
 
+    default String mapIngredient(Ingredient ingredient) {
+        return ingredient.getName();
+    }
+
     @Named("mapRecipeCreationDateTime")
     default String mapRecipeCreationDateTime(Timestamp creationDateTime) {
         LocalDateTime recipeCreation = creationDateTime.toLocalDateTime();
-        return recipeCreation.format(DateTimeFormatter.ofPattern("dd‐MM‐yyyy HH:mm"));
+        return recipeCreation.format(CREATION_DATE_TIME_FORMATTER);
     }
 
 }
@@ -0,0 +1,95 @@
+package com.jgb.recipesystem.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SqlStatementMetrics
+ * <br>
+ * <code>com.jgb.recipesystem.metrics.SqlStatementMetrics</code>
+ * <br>
+ * Wraps the application data source and counts the statements sent to the database, in total as the
+ * <code>sql.statements</code> counter and per thread, so that {@link SqlStatementMetricsFilter} can tell how many
+ * statements every request ran. A JDBC batch counts as a single statement, since it is sent in a single round trip.
+ * <br>
+ * The data source is wrapped with a plain proxy, <code>unwrap</code> still reaches the pool so its own metrics keep
+ * being published.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+public class SqlStatementMetrics implements BeanPostProcessor, MeterBinder {
+
+    private final LongAdder statements = new LongAdder();
+    private final ThreadLocal<long[]> threadStatements = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, this::wrapConnection);
+        }
+        return bean;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sql.statements", statements, LongAdder::sum)
+                .description("Statements sent to the database")
+                .register(registry);
+    }
+
+    /**
+     * @return number of statements the current thread has sent to the database so far. Only the difference between
+     * two readings is meaningful
+     */
+    public long currentThreadCount() {
+        return threadStatements.get()[0];
+    }
+
+    private Object wrapConnection(Method method, Object result) {
+        return result instanceof Connection connection
+                ? proxy(Connection.class, connection, this::wrapStatement)
+                : result;
+    }
+
+    private Object wrapStatement(Method method, Object result) {
+        if (result instanceof Statement statement) {
+            return proxy(method.getReturnType(), statement, (statementMethod, statementResult) -> statementResult);
+        }
+        return result;
+    }
+
+    private <T> T proxy(Class<T> type, Object target, ResultWrapper resultWrapper) {
+        boolean statement = Statement.class.isAssignableFrom(type);
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (statement && method.getName().startsWith("execute")) {
+                statements.increment();
+                threadStatements.get()[0]++;
+            }
+            try {
+                return resultWrapper.wrap(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result);
+    }
+}
@@ -0,0 +1,50 @@
+package com.jgb.recipesystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTags;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * SqlStatementMetricsFilter
+ * <br>
+ * <code>com.jgb.recipesystem.metrics.SqlStatementMetricsFilter</code>
+ * <br>
+ * Records how many statements every request sent to the database as the <code>http.server.requests.sql</code>
+ * distribution summary, tagged with the same method and uri as <code>http.server.requests</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = sqlStatementMetrics.currentThreadCount();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("Statements sent to the database per request")
+                    .baseUnit("statements")
+                    .tags(Tags.of(WebMvcTags.method(request), WebMvcTags.uri(request, response)))
+                    .register(meterRegistry)
+                    .record(sqlStatementMetrics.currentThreadCount() - before);
+        }
+    }
+}
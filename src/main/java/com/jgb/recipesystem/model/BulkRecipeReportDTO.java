@@ -0,0 +1,40 @@
+package com.jgb.recipesystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BulkRecipeReportDTO
+ * <br>
+ * <code>com.jgb.recipesystem.model.BulkRecipeReportDTO</code>
+ * <br>
+ * Result of a bulk request: how many recipes ended in each status, and the outcome of every recipe in request order.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRecipeReportDTO {
+
+    private int created;
+    private int updated;
+    private int duplicate;
+    private int invalid;
+    private List<BulkRecipeResultDTO> results = new ArrayList<>();
+
+    public void add(BulkRecipeResultDTO result) {
+        switch (result.getStatus()) {
+            case CREATED -> created++;
+            case UPDATED -> updated++;
+            case DUPLICATE -> duplicate++;
+            case INVALID -> invalid++;
+        }
+        results.add(result);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jgb.recipesystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jgb.recipesystem.exception.handler.ErrorMessage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * BulkRecipeResultDTO
+ * <br>
+ * <code>com.jgb.recipesystem.model.BulkRecipeResultDTO</code>
+ * <br>
+ * Outcome of the recipe found at position <code>index</code> of a bulk request.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRecipeResultDTO {
+
+    private Integer index;
+    private String name;
+    private BulkRecipeStatus status;
+    private List<ErrorMessage> errors;
+}
@@ -0,0 +1,19 @@
+package com.jgb.recipesystem.model;
+
+/**
+ * BulkRecipeStatus
+ * <br>
+ * <code>com.jgb.recipesystem.model.BulkRecipeStatus</code>
+ * <br>
+ * Outcome of a single recipe of a bulk request.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public enum BulkRecipeStatus {
+
+    CREATED,
+    UPDATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,31 @@
+package com.jgb.recipesystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * RecipeBatchDTO
+ * <br>
+ * <code>com.jgb.recipesystem.model.RecipeBatchDTO</code>
+ * <br>
+ * Recipes asked for by name in a single request. Recipes found are listed in the order their names were asked for,
+ * names without a recipe are listed in <code>missing</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecipeBatchDTO {
+
+    private List<RecipeDTO> recipes;
+    private List<String> missing;
+}
@@ -0,0 +1,34 @@
+package com.jgb.recipesystem.model;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * RecipeFileFormat
+ * <br>
+ * <code>com.jgb.recipesystem.model.RecipeFileFormat</code>
+ * <br>
+ * Formats of the recipe files that can be imported.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public enum RecipeFileFormat {
+
+    /**
+     * Newline delimited JSON, one recipe per line
+     */
+    NDJSON,
+    /**
+     * Comma separated values with a header row. Ingredients are separated by | within their column
+     */
+    CSV;
+
+    /**
+     * @param file file to import
+     * @return CSV for files ending in .csv, NDJSON otherwise
+     */
+    public static RecipeFileFormat of(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
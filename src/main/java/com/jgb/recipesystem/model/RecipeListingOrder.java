@@ -0,0 +1,17 @@
+package com.jgb.recipesystem.model;
+
+/**
+ * RecipeListingOrder
+ * <br>
+ * <code>com.jgb.recipesystem.model.RecipeListingOrder</code>
+ * <br>
+ * Keys a recipe listing can be ordered and paginated by.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public enum RecipeListingOrder {
+
+    ID,
+    NAME
+}
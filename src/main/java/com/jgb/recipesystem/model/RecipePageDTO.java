@@ -0,0 +1,30 @@
+package com.jgb.recipesystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * RecipePageDTO
+ * <br>
+ * <code>com.jgb.recipesystem.model.RecipePageDTO</code>
+ * <br>
+ * One page of a recipe listing. <code>nextCursor</code> is only present when there are more recipes to fetch.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecipePageDTO {
+
+    private List<RecipeDTO> recipes;
+    private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.jgb.recipesystem.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * RecipeSearchPageDTO
+ * <br>
+ * <code>com.jgb.recipesystem.model.RecipeSearchPageDTO</code>
+ * <br>
+ * One page of ranked search results, best match first.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecipeSearchPageDTO {
+
+    private List<RecipeDTO> recipes;
+    private Integer page;
+    private Integer size;
+    private Integer totalHits;
+}
@@ -0,0 +1,43 @@
+package com.jgb.recipesystem.model;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RecipeVersion
+ * <br>
+ * <code>com.jgb.recipesystem.model.RecipeVersion</code>
+ * <br>
+ * Identifies one state of a recipe. The version goes up with every write on the recipe, and a recipe that is deleted
+ * and created again gets a new id, so two equal recipe versions always stand for the same recipe content.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public record RecipeVersion(long recipeId, long version) {
+
+    private static final Pattern ETAG = Pattern.compile("\\s*\"(\\d{1,18})-(\\d{1,18})\"\\s*");
+
+    /**
+     * Reads back an entity tag written by {@link #toETag()}. Weak tags, lists of tags and tags of any other shape
+     * cannot be compared strongly against a recipe version and are not read
+     *
+     * @param eTag entity tag as sent by the client
+     * @return the recipe version the tag stands for, or an empty optional if it is not one of ours
+     */
+    public static Optional<RecipeVersion> fromETag(String eTag) {
+        Matcher matcher = ETAG.matcher(eTag);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new RecipeVersion(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))));
+    }
+
+    /**
+     * @return strong entity tag of this state of the recipe, quoted as HTTP expects it
+     */
+    public String toETag() {
+        return "\"" + recipeId + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,19 @@
+package com.jgb.recipesystem.model;
+
+/**
+ * VersionedRecipe
+ * <br>
+ * <code>com.jgb.recipesystem.model.VersionedRecipe</code>
+ * <br>
+ * A recipe together with the version it was read at, and whether it was read from a replica. A replica may be behind
+ * the primary, so a recipe read from one is served but never cached.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public record VersionedRecipe(RecipeDTO recipe, RecipeVersion version, boolean fromReplica) {
+
+    public VersionedRecipe(RecipeDTO recipe, RecipeVersion version) {
+        this(recipe, version, false);
+    }
+}
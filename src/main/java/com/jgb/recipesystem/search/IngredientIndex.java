@@ -0,0 +1,248 @@
+package com.jgb.recipesystem.search;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * IngredientIndex
+ * <br>
+ * <code>com.jgb.recipesystem.search.IngredientIndex</code>
+ * <br>
+ * Inverted index from ingredient to the recipes that use it. Each ingredient maps to a sorted array of recipe ids,
+ * so include and exclude queries are answered by merging arrays in memory. The arrays grow with spare capacity and
+ * ids above the last one are appended in place, so loading the recipes in id order stays linear. Ids are kept as
+ * longs, as they are allocated in blocks that leave gaps and can outgrow an int long before there are that many
+ * recipes.
+ * <br>
+ * Ingredients are matched on their trimmed, lower-cased text.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+public class IngredientIndex implements RecipeIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, String[]> ingredientsByRecipe = new HashMap<>();
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private final Map<Long, String> namesById = new HashMap<>();
+
+    @Override
+    public void add(long recipeId, RecipeDTO recipe) {
+        String[] ingredients = recipe.getIngredients() == null ? new String[0] : recipe.getIngredients().stream()
+                .map(IngredientIndex::normalize)
+                .distinct()
+                .toArray(String[]::new);
+        lock.writeLock().lock();
+        try {
+            Long previousId = idsByName.get(recipe.getName());
+            if (previousId != null) {
+                removeRecipe(previousId);
+            }
+            removeRecipe(recipeId);
+            for (String ingredient : ingredients) {
+                postings.computeIfAbsent(ingredient, i -> new Postings()).add(recipeId);
+            }
+            ingredientsByRecipe.put(recipeId, ingredients);
+            idsByName.put(recipe.getName(), recipeId);
+            namesById.put(recipeId, recipe.getName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String recipeName) {
+        lock.writeLock().lock();
+        try {
+            Long id = idsByName.get(recipeName);
+            if (id != null) {
+                removeRecipe(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ingredientsByRecipe.clear();
+            idsByName.clear();
+            namesById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes that contain every included ingredient and none of the excluded ones
+     *
+     * @param include    ingredients the recipes must contain, at least one
+     * @param exclude    ingredients the recipes must not contain
+     * @param maxResults largest number of recipe names to return
+     * @return names of the matching recipes, in id order
+     */
+    public List<String> search(Collection<String> include, Collection<String> exclude, int maxResults) {
+        lock.readLock().lock();
+        try {
+            List<Postings> included = new ArrayList<>(include.size());
+            for (String ingredient : include) {
+                Postings posting = postings.get(normalize(ingredient));
+                if (posting == null) {
+                    return List.of();
+                }
+                included.add(posting);
+            }
+            // intersecting the shortest lists first keeps every intermediate result small
+            included.sort(Comparator.comparingInt(posting -> posting.size));
+            long[] matches = included.get(0).toArray();
+            for (int i = 1; i < included.size() && matches.length > 0; i++) {
+                Postings posting = included.get(i);
+                matches = intersect(matches, posting.ids, posting.size);
+            }
+            for (String ingredient : exclude) {
+                Postings posting = postings.get(normalize(ingredient));
+                if (posting != null && matches.length > 0) {
+                    matches = subtract(matches, posting.ids, posting.size);
+                }
+            }
+            int size = Math.min(matches.length, maxResults);
+            List<String> names = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                names.add(namesById.get(matches[i]));
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeRecipe(long id) {
+        String[] ingredients = ingredientsByRecipe.remove(id);
+        if (ingredients == null) {
+            return;
+        }
+        for (String ingredient : ingredients) {
+            Postings posting = postings.get(ingredient);
+            posting.remove(id);
+            if (posting.size == 0) {
+                postings.remove(ingredient);
+            }
+        }
+        idsByName.remove(namesById.remove(id));
+    }
+
+    static String normalize(String ingredient) {
+        return ingredient.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Intersects two sorted arrays, binary searching the longer one for every element of the shorter one.
+     * The search range shrinks as the shorter array is walked.
+     */
+    static long[] intersect(long[] shorter, long[] longer) {
+        return intersect(shorter, longer, longer.length);
+    }
+
+    static long[] intersect(long[] shorter, long[] longer, int longerSize) {
+        long[] result = new long[shorter.length];
+        int size = 0;
+        int from = 0;
+        for (long id : shorter) {
+            int position = Arrays.binarySearch(longer, from, longerSize, id);
+            if (position >= 0) {
+                result[size++] = id;
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+            if (from == longerSize) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Removes from a sorted array every element of another sorted array
+     */
+    static long[] subtract(long[] from, long[] excluded) {
+        return subtract(from, excluded, excluded.length);
+    }
+
+    static long[] subtract(long[] from, long[] excluded, int excludedSize) {
+        long[] result = new long[from.length];
+        int size = 0;
+        int j = 0;
+        for (long id : from) {
+            while (j < excludedSize && excluded[j] < id) {
+                j++;
+            }
+            if (j == excludedSize || excluded[j] != id) {
+                result[size++] = id;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Sorted ids of the recipes using an ingredient, in an array with spare capacity at the end
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || id > ids[size - 1]) {
+                // recipes are mostly indexed in id order, so the common case is an append
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertion = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.jgb.recipesystem.search;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+
+/**
+ * RecipeIndex
+ * <br>
+ * <code>com.jgb.recipesystem.search.RecipeIndex</code>
+ * <br>
+ * In-memory index derived from the recipe table. Implementations are rebuilt on startup and kept up to date by
+ * {@link RecipeIndexUpdater}.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public interface RecipeIndex {
+
+    /**
+     * Adds a recipe to the index, replacing whatever was indexed before under the same id or name
+     *
+     * @param recipeId id of the recipe
+     * @param recipe   recipe contents
+     */
+    void add(long recipeId, RecipeDTO recipe);
+
+    /**
+     * Removes a recipe from the index, if it is indexed
+     *
+     * @param recipeName name of the recipe
+     */
+    void remove(String recipeName);
+
+    /**
+     * Removes every recipe from the index
+     */
+    void clear();
+}
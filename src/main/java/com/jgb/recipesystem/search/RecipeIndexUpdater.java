@@ -0,0 +1,74 @@
+package com.jgb.recipesystem.search;
+
+import com.jgb.recipesystem.configuration.RecipeSearchProperties;
+import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.service.RecipeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * RecipeIndexUpdater
+ * <br>
+ * <code>com.jgb.recipesystem.search.RecipeIndexUpdater</code>
+ * <br>
+ * Loads every {@link RecipeIndex} from the database before the application starts serving requests, and applies
+ * the changes made through the recipe service once they are committed.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RecipeSearchProperties.class)
+public class RecipeIndexUpdater implements SmartInitializingSingleton {
+
+    private final List<RecipeIndex> indexes;
+    private final RecipeRepository recipeRepository;
+    private final RecipeSearchProperties searchProperties;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (searchProperties.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Clears the indexes and loads them again, walking the recipe table in id order
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        indexes.forEach(RecipeIndex::clear);
+        PageRequest batch = PageRequest.ofSize(searchProperties.getRebuildBatchSize());
+        long indexed = 0;
+        List<Long> ids = recipeRepository.findIdsAfterId(null, null, null, null, batch);
+        while (!ids.isEmpty()) {
+            for (Recipe recipe : recipeRepository.findAllWithIngredientsByIdIn(ids)) {
+                RecipeDTO recipeDTO = RecipeMapper.MAPPER.toRecipeDTO(recipe);
+                indexes.forEach(index -> index.add(recipe.getId(), recipeDTO));
+                indexed++;
+            }
+            ids = recipeRepository.findIdsAfterId(ids.get(ids.size() - 1), null, null, null, batch);
+        }
+        log.info("Indexed {} recipes into {} indexes in {} ms", indexed, indexes.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> indexes.forEach(index -> index.add(event.recipeId(), event.recipe()));
+            case DELETED -> indexes.forEach(index -> index.remove(event.name()));
+        }
+    }
+}
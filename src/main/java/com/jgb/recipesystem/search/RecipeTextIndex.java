@@ -0,0 +1,373 @@
+package com.jgb.recipesystem.search;
+
+import com.jgb.recipesystem.configuration.RecipeSearchProperties;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * RecipeTextIndex
+ * <br>
+ * <code>com.jgb.recipesystem.search.RecipeTextIndex</code>
+ * <br>
+ * Full-text index over the name and cooking instructions of every recipe, ranked with BM25.
+ * <br>
+ * Recipes are numbered with dense ordinals, reused after deletions, so a query accumulates its scores in a plain
+ * float array instead of a map. Each term keeps the ordinals of the recipes that contain it, sorted, together with
+ * the number of times it appears in each of them.
+ * <br>
+ * The score arrays are pooled and handed back zeroed, only at the ordinals a query matched, so a query allocates
+ * nothing in proportion to the size of the index. The best hits are kept in a heap of primitive ordinals as large as
+ * the page asked for.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@EnableConfigurationProperties(RecipeSearchProperties.class)
+public class RecipeTextIndex implements RecipeIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final float k1;
+    private final float b;
+    private final int nameBoost;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BlockingQueue<Scratch> scratches = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> ordinalsByName = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] recipeIds = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[][] terms = new String[INITIAL_CAPACITY][];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int nextOrdinal;
+    private int documentCount;
+    private long totalLength;
+
+    public RecipeTextIndex(RecipeSearchProperties searchProperties) {
+        this.k1 = searchProperties.getBm25K1();
+        this.b = searchProperties.getBm25B();
+        this.nameBoost = searchProperties.getNameBoost();
+    }
+
+    /**
+     * Recipe matching a text search
+     *
+     * @param recipeId id of the recipe
+     * @param name     name of the recipe
+     * @param score    BM25 score of the recipe for the query
+     */
+    public record Hit(long recipeId, String name, float score) {
+    }
+
+    /**
+     * Page of a text search
+     *
+     * @param hits      matching recipes of the page, best first
+     * @param totalHits number of recipes matching the query
+     */
+    public record Result(List<Hit> hits, int totalHits) {
+    }
+
+    @Override
+    public void add(long recipeId, RecipeDTO recipe) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : TextTokenizer.tokenize(recipe.getName())) {
+            frequencies.merge(term, nameBoost, Integer::sum);
+        }
+        for (String term : TextTokenizer.tokenize(recipe.getCookingInstructions())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinalsByName.get(recipe.getName());
+            if (previous != null) {
+                removeOrdinal(previous);
+            }
+            int ordinal = allocateOrdinal();
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings()).add(ordinal, frequency));
+            recipeIds[ordinal] = recipeId;
+            names[ordinal] = recipe.getName();
+            terms[ordinal] = frequencies.keySet().toArray(String[]::new);
+            lengths[ordinal] = length;
+            ordinalsByName.put(recipe.getName(), ordinal);
+            documentCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String recipeName) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsByName.get(recipeName);
+            if (ordinal != null) {
+                removeOrdinal(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalsByName.clear();
+            freeOrdinals.clear();
+            recipeIds = new long[INITIAL_CAPACITY];
+            names = new String[INITIAL_CAPACITY];
+            terms = new String[INITIAL_CAPACITY][];
+            lengths = new int[INITIAL_CAPACITY];
+            nextOrdinal = 0;
+            documentCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the recipes containing any term of the query
+     *
+     * @param query  free text query
+     * @param offset number of best hits to skip
+     * @param limit  largest number of hits to return
+     * @return the requested page of hits, best first, and the total number of matching recipes
+     */
+    public Result search(String query, int offset, int limit) {
+        LinkedHashSet<String> queryTerms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (documentCount == 0 || queryTerms.isEmpty()) {
+                return new Result(List.of(), 0);
+            }
+            float averageLength = (float) totalLength / documentCount;
+            Scratch scratch = takeScratch();
+            float[] scores = scratch.scores;
+            int matchCount = 0;
+            try {
+                for (String term : queryTerms) {
+                    Postings posting = postings.get(term);
+                    if (posting == null) {
+                        continue;
+                    }
+                    float idf = (float) Math.log(1 + (documentCount - posting.size + 0.5) / (posting.size + 0.5));
+                    for (int i = 0; i < posting.size; i++) {
+                        int ordinal = posting.ordinals[i];
+                        int frequency = posting.frequencies[i];
+                        if (scores[ordinal] == 0) {
+                            scratch.match(ordinal, matchCount++);
+                        }
+                        float norm = k1 * (1 - b + b * lengths[ordinal] / averageLength);
+                        scores[ordinal] += idf * frequency * (k1 + 1) / (frequency + norm);
+                    }
+                }
+                return new Result(topHits(scratch, matchCount, offset, limit), matchCount);
+            } finally {
+                releaseScratch(scratch, matchCount);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> topHits(Scratch scratch, int matchCount, int offset, int limit) {
+        if (offset >= matchCount || limit <= 0) {
+            return List.of();
+        }
+        float[] scores = scratch.scores;
+        int[] matched = scratch.matched;
+        // min-heap of the best "wanted" ordinals seen so far, worst on top, ties broken by ordinal to keep pages stable
+        int wanted = (int) Math.min((long) offset + limit, matchCount);
+        int[] heap = scratch.heap(wanted);
+        int size = 0;
+        for (int i = 0; i < matchCount; i++) {
+            int ordinal = matched[i];
+            if (size < wanted) {
+                heap[size] = ordinal;
+                siftUp(heap, size++, scores);
+            } else if (ranksBelow(heap[0], ordinal, scores)) {
+                heap[0] = ordinal;
+                siftDown(heap, size, scores);
+            }
+        }
+        Hit[] ranked = new Hit[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int ordinal = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i, scores);
+            ranked[i] = new Hit(recipeIds[ordinal], names[ordinal], scores[ordinal]);
+        }
+        return new ArrayList<>(Arrays.asList(ranked).subList(offset, ranked.length));
+    }
+
+    private static boolean ranksBelow(int ordinal, int other, float[] scores) {
+        int byScore = Float.compare(scores[ordinal], scores[other]);
+        return byScore != 0 ? byScore < 0 : ordinal > other;
+    }
+
+    private static void siftUp(int[] heap, int position, float[] scores) {
+        int ordinal = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!ranksBelow(ordinal, heap[parent], scores)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = ordinal;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int ordinal = heap[0];
+        int position = 0;
+        for (int child = 1; child < size; child = 2 * position + 1) {
+            if (child + 1 < size && ranksBelow(heap[child + 1], heap[child], scores)) {
+                child++;
+            }
+            if (!ranksBelow(heap[child], ordinal, scores)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = ordinal;
+    }
+
+    /**
+     * Takes zeroed score arrays at least as large as the ordinals in use, called with the read lock held
+     */
+    private Scratch takeScratch() {
+        Scratch scratch = scratches.poll();
+        if (scratch == null || scratch.scores.length < nextOrdinal) {
+            return new Scratch(names.length);
+        }
+        return scratch;
+    }
+
+    private void releaseScratch(Scratch scratch, int matchCount) {
+        for (int i = 0; i < matchCount; i++) {
+            scratch.scores[scratch.matched[i]] = 0;
+        }
+        scratches.offer(scratch);
+    }
+
+    private int allocateOrdinal() {
+        if (!freeOrdinals.isEmpty()) {
+            return freeOrdinals.pop();
+        }
+        if (nextOrdinal == names.length) {
+            int capacity = names.length * 2;
+            recipeIds = Arrays.copyOf(recipeIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            terms = Arrays.copyOf(terms, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        return nextOrdinal++;
+    }
+
+    private void removeOrdinal(int ordinal) {
+        for (String term : terms[ordinal]) {
+            Postings posting = postings.get(term);
+            posting.remove(ordinal);
+            if (posting.size == 0) {
+                postings.remove(term);
+            }
+        }
+        ordinalsByName.remove(names[ordinal]);
+        documentCount--;
+        totalLength -= lengths[ordinal];
+        names[ordinal] = null;
+        terms[ordinal] = null;
+        lengths[ordinal] = 0;
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * Sorted ordinals of the recipes containing a term, with the frequency of the term in each of them
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                return;
+            }
+            int insertion = -position - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ordinals, insertion, ordinals, insertion + 1, size - insertion);
+            System.arraycopy(frequencies, insertion, frequencies, insertion + 1, size - insertion);
+            ordinals[insertion] = ordinal;
+            frequencies[insertion] = frequency;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Buffers of a query: the score of every ordinal, the ordinals it matched and the heap of its best hits
+     */
+    private static final class Scratch {
+
+        private final float[] scores;
+        private int[] matched = new int[16];
+        private int[] heap = new int[16];
+
+        Scratch(int capacity) {
+            this.scores = new float[capacity];
+        }
+
+        void match(int ordinal, int position) {
+            if (position == matched.length) {
+                matched = Arrays.copyOf(matched, position * 2);
+            }
+            matched[position] = ordinal;
+        }
+
+        int[] heap(int size) {
+            if (heap.length < size) {
+                heap = new int[size];
+            }
+            return heap;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.jgb.recipesystem.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TextTokenizer
+ * <br>
+ * <code>com.jgb.recipesystem.search.TextTokenizer</code>
+ * <br>
+ * Splits free text into lower-cased terms on every character that is not a letter or a digit, so recipe names such
+ * as <code>four_cheese_pizza</code> are split as well. Single characters and common English stop words are dropped.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public final class TextTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it", "of", "on",
+            "or", "the", "then", "to", "with");
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * @param text text to tokenize, may be null
+     * @return terms of the text in the order they appear, repeated terms included
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (!term.isEmpty()) {
+                if (term.length() > 1) {
+                    String value = term.toString();
+                    if (!STOP_WORDS.contains(value)) {
+                        terms.add(value);
+                    }
+                }
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,114 @@
+package com.jgb.recipesystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jgb.recipesystem.configuration.AuthenticationCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * CachingAuthenticationProvider
+ * <br>
+ * <code>com.jgb.recipesystem.security.CachingAuthenticationProvider</code>
+ * <br>
+ * Username and password provider that verifies credentials with the wrapped provider, BCrypt in this application,
+ * only the first time they are seen. Successful verifications are remembered per user as an HMAC of the credentials,
+ * so later requests with the same credentials are checked with one HMAC and a constant-time comparison instead of a
+ * BCrypt hash.
+ * <br>
+ * The HMAC key is random and lives only in this process, so the cached digests cannot be brute-forced offline the way
+ * a plain hash could. Failed verifications are never cached, wrong passwords always pay the full BCrypt cost.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider, MeterBinder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final boolean enabled;
+    private final Cache<String, VerifiedCredentials> verifiedCredentials;
+    private final SecretKeySpec key;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, AuthenticationCacheProperties properties) {
+        this.delegate = delegate;
+        this.enabled = properties.isEnabled();
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!enabled || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        String username = authentication.getName();
+        byte[] digest = digest(username, password);
+        VerifiedCredentials verified = verifiedCredentials.getIfPresent(username);
+        if (verified != null && MessageDigest.isEqual(verified.digest(), digest)) {
+            Authentication verifiedAuthentication = verified.authentication();
+            UsernamePasswordAuthenticationToken result = new UsernamePasswordAuthenticationToken(
+                    verifiedAuthentication.getPrincipal(), null, verifiedAuthentication.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            verifiedCredentials.put(username, new VerifiedCredentials(digest, result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Forgets every verified credential, so that the next request of every user is verified with BCrypt again
+     */
+    public void invalidateAll() {
+        verifiedCredentials.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedCredentials, "verified-credentials");
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // HTTP Basic usernames cannot contain a colon, so the separator keeps every pair of credentials apart
+            mac.update((byte) ':');
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private record VerifiedCredentials(byte[] digest, Authentication authentication) {
+    }
+}
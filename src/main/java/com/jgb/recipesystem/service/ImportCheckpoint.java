@@ -0,0 +1,97 @@
+package com.jgb.recipesystem.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * ImportCheckpoint
+ * <br>
+ * <code>com.jgb.recipesystem.service.ImportCheckpoint</code>
+ * <br>
+ * How far the import of a file has got. Every record before the offset is either in the database or in the error
+ * file, which is errorsLength bytes long at that point. The file size and modification time tell whether the
+ * checkpoint still belongs to the file.
+ * <br>
+ * A checkpoint is also written right before a batch commits, with inDoubtUntil set to the end of the last record of
+ * the batch. If the import stops before the next checkpoint, the batch may or may not have been committed, and
+ * recipes of it that turn out to exist on resume were created by the run that stopped. 0 when no batch is in doubt.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+record ImportCheckpoint(long fileSize, long fileLastModified, long offset, long errorsLength, long records,
+                        long created, long updated, long rejected, long inDoubtUntil) {
+
+    /**
+     * @param path checkpoint file
+     * @return the checkpoint, empty if there is no checkpoint file
+     * @throws IOException if the checkpoint file cannot be read
+     */
+    static Optional<ImportCheckpoint> read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            properties.load(inputStream);
+        }
+        try {
+            return Optional.of(new ImportCheckpoint(value(properties, "file-size"), value(properties, "file-last-modified"),
+                    value(properties, "offset"), value(properties, "errors-length"), value(properties, "records"),
+                    value(properties, "created"), value(properties, "updated"), value(properties, "rejected"),
+                    value(properties, "in-doubt-until")));
+        } catch (NumberFormatException e) {
+            throw new IOException("Checkpoint " + path + " is corrupt", e);
+        }
+    }
+
+    /**
+     * Replaces the checkpoint file in a single step, so that a crash leaves either the old or the new checkpoint
+     *
+     * @param path checkpoint file
+     * @throws IOException if the checkpoint file cannot be written
+     */
+    void write(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("file-size", String.valueOf(fileSize));
+        properties.setProperty("file-last-modified", String.valueOf(fileLastModified));
+        properties.setProperty("offset", String.valueOf(offset));
+        properties.setProperty("errors-length", String.valueOf(errorsLength));
+        properties.setProperty("records", String.valueOf(records));
+        properties.setProperty("created", String.valueOf(created));
+        properties.setProperty("updated", String.valueOf(updated));
+        properties.setProperty("rejected", String.valueOf(rejected));
+        properties.setProperty("in-doubt-until", String.valueOf(inDoubtUntil));
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(temporary)) {
+            properties.store(outputStream, null);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param batchEnd end of the last record of the batch about to be committed
+     * @return this checkpoint, marking the records up to batchEnd as possibly imported
+     */
+    ImportCheckpoint inDoubtUntil(long batchEnd) {
+        return new ImportCheckpoint(fileSize, fileLastModified, offset, errorsLength, records, created, updated,
+                rejected, batchEnd);
+    }
+
+    /**
+     * @return whether the checkpoint was taken on a file of this size and modification time
+     */
+    boolean belongsTo(long size, long lastModified) {
+        return fileSize == size && fileLastModified == lastModified;
+    }
+
+    private static long value(Properties properties, String key) {
+        return Long.parseLong(properties.getProperty(key, "0"));
+    }
+}
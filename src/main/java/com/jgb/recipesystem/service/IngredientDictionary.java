@@ -0,0 +1,150 @@
+package com.jgb.recipesystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jgb.recipesystem.configuration.IngredientDictionaryProperties;
+import com.jgb.recipesystem.database.entity.Ingredient;
+import com.jgb.recipesystem.database.repository.IngredientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IngredientDictionary
+ * <br>
+ * <code>com.jgb.recipesystem.service.IngredientDictionary</code>
+ * <br>
+ * Resolves ingredient names to the ids of the ingredient dictionary table, inserting the names that are not in it
+ * yet. Resolved ids are interned in a bounded in-process cache, so known ingredients cost no statement at all.
+ * <br>
+ * Dictionary entries are never updated nor deleted, which is why cached ids never have to be evicted.
+ * <br>
+ * New entries are inserted in a transaction of their own, which must not be nested in the transaction that writes
+ * the recipe: that would take a second pooled connection while holding the first one, and enough concurrent writers
+ * would wait on each other until the pool times out. Writers resolve their ingredients before opening their
+ * transaction, inside it the dictionary only reads.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Service
+@EnableConfigurationProperties(IngredientDictionaryProperties.class)
+public class IngredientDictionary implements MeterBinder {
+
+    private final IngredientRepository ingredientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Long> ids;
+    private final int insertAttempts;
+
+    public IngredientDictionary(IngredientRepository ingredientRepository, PlatformTransactionManager transactionManager,
+                                IngredientDictionaryProperties properties) {
+        this.ingredientRepository = ingredientRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        this.insertAttempts = properties.getInsertAttempts();
+    }
+
+    /**
+     * Resolves ingredient names to dictionary ids, see {@link #resolve(Collection)}
+     *
+     * @param names ingredient names, in order
+     * @return the id of every name, in the same order
+     */
+    public List<Long> ids(List<String> names) {
+        Map<String, Long> resolvedIds = resolve(names);
+        return names.stream().map(resolvedIds::get).toList();
+    }
+
+    /**
+     * Resolves ingredient names to references of dictionary entries, to be set on a recipe entity. References are
+     * not loaded from the database, so this has to be called inside the transaction that writes the recipe, after
+     * the names have been resolved outside of it
+     *
+     * @param names ingredient names, in order
+     * @return a modifiable list with a reference to the entry of every name, in the same order
+     */
+    public List<Ingredient> references(List<String> names) {
+        List<Ingredient> references = new ArrayList<>(names.size());
+        for (Long id : ids(names)) {
+            references.add(ingredientRepository.getById(id));
+        }
+        return references;
+    }
+
+    /**
+     * Resolves ingredient names to dictionary ids. Names that are not cached are looked up with a single query, and
+     * the ones that are not in the dictionary yet are inserted with a single batch. Both happen in a transaction of
+     * their own, so that new entries are committed, and visible to other nodes, even if the caller rolls back.
+     * <br>
+     * Called inside a transaction, names that are not cached are only looked up in it, so the caller has to have
+     * resolved any new ingredient before opening it
+     *
+     * @param names ingredient names
+     * @return the id of every distinct name
+     * @throws IllegalStateException if called inside a transaction with names that are not in the dictionary
+     */
+    public Map<String, Long> resolve(Collection<String> names) {
+        Map<String, Long> resolvedIds = new HashMap<>(ids.getAllPresent(names));
+        Set<String> missingNames = new LinkedHashSet<>(names);
+        missingNames.removeAll(resolvedIds.keySet());
+        if (!missingNames.isEmpty() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // resolved before the transaction began and evicted since, they are still in the table
+            cache(ingredientRepository.findAllByNameIn(missingNames), resolvedIds, missingNames);
+            if (!missingNames.isEmpty()) {
+                throw new IllegalStateException("Ingredients " + missingNames
+                        + " are not in the dictionary, they have to be resolved before the transaction begins");
+            }
+        }
+        for (int attempt = 1; !missingNames.isEmpty(); attempt++) {
+            try {
+                cache(transactionTemplate.execute(status -> lookUpOrInsert(missingNames)), resolvedIds, missingNames);
+            } catch (DataIntegrityViolationException e) {
+                // another node inserted some of the same names in the meantime, the next attempt reads them back
+                if (attempt >= insertAttempts) {
+                    throw e;
+                }
+            }
+        }
+        return resolvedIds;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, ids, "ingredient-ids");
+    }
+
+    private void cache(List<Ingredient> ingredients, Map<String, Long> resolvedIds, Set<String> missingNames) {
+        for (Ingredient ingredient : ingredients) {
+            ids.put(ingredient.getName(), ingredient.getId());
+            resolvedIds.put(ingredient.getName(), ingredient.getId());
+            missingNames.remove(ingredient.getName());
+        }
+    }
+
+    private List<Ingredient> lookUpOrInsert(Set<String> names) {
+        List<Ingredient> ingredients = new ArrayList<>(ingredientRepository.findAllByNameIn(names));
+        Set<String> newNames = new LinkedHashSet<>(names);
+        ingredients.forEach(ingredient -> newNames.remove(ingredient.getName()));
+        if (!newNames.isEmpty()) {
+            ingredients.addAll(ingredientRepository.saveAllAndFlush(newNames.stream().map(Ingredient::new).toList()));
+        }
+        return ingredients;
+    }
+}
@@ -0,0 +1,114 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.configuration.RecipeListingProperties;
+import com.jgb.recipesystem.database.repository.ReactiveRecipeReader;
+import com.jgb.recipesystem.exception.InvalidCursorException;
+import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ReactiveRecipeService
+ * <br>
+ * <code>com.jgb.recipesystem.service.ReactiveRecipeService</code>
+ * <br>
+ * Reactive counterpart of {@link RecipeService} for read-heavy traffic. Reads never block a thread: they are served
+ * from the recipe cache or read over R2DBC. Writes are rare next to reads and go through the blocking
+ * {@link RecipeService} on the bounded elastic scheduler, so that ids, the ingredient dictionary, cache eviction and
+ * index updates stay in one place.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RecipeListingProperties.class)
+public class ReactiveRecipeService {
+
+    private final ReactiveRecipeReader reactiveRecipeReader;
+    private final RecipeCache recipeCache;
+    private final RecipeService recipeService;
+    private final RecipeListingProperties listingProperties;
+
+    /**
+     * Retrieves info about a specific recipe
+     *
+     * @param recipeName name of the recipe to retrieve
+     * @return the recipe, or an error with RecipeNotFoundException if there is no recipe with that name
+     */
+    public Mono<RecipeDTO> getRecipe(String recipeName) {
+        return Mono.defer(() -> {
+            Optional<VersionedRecipe> cachedRecipe = recipeCache.get(recipeName);
+            if (cachedRecipe.isPresent()) {
+                return Mono.just(cachedRecipe.get().recipe());
+            }
+            long stamp = recipeCache.stamp();
+            return reactiveRecipeReader.findOneByName(recipeName)
+                    .doOnNext(recipe -> recipeCache.put(recipeName, recipe, stamp))
+                    .map(VersionedRecipe::recipe)
+                    .switchIfEmpty(Mono.error(() -> new RecipeNotFoundException("Could not find recipe with name " + recipeName)));
+        });
+    }
+
+    /**
+     * Lists recipes page by page with the same cursors as {@link RecipeService#listRecipes}. The page and its
+     * ingredients are read in a single statement
+     *
+     * @param order       key the listing is ordered and paginated by
+     * @param cursor      cursor returned with the previous page, null to get the first page
+     * @param vegetarian  only list recipes with this vegetarian flag, if not null
+     * @param minServings only list recipes with at least this many servings, if not null
+     * @param maxServings only list recipes with at most this many servings, if not null
+     * @param pageSize    number of recipes per page, capped to the configured maximum. Null for the default size
+     * @return the page of recipes and, if there are more, the cursor of the next page. An error with
+     * InvalidCursorException if the cursor cannot be decoded or belongs to a listing with another order
+     */
+    public Mono<RecipePageDTO> listRecipes(RecipeListingOrder order, String cursor, Boolean vegetarian,
+                                           Integer minServings, Integer maxServings, Integer pageSize) {
+        RecipePageCursor after;
+        try {
+            after = cursor == null ? null : RecipePageCursor.decode(cursor, order);
+        } catch (InvalidCursorException e) {
+            return Mono.error(e);
+        }
+        int size = Math.min(pageSize == null ? listingProperties.getDefaultPageSize() : pageSize,
+                listingProperties.getMaxPageSize());
+        // one extra recipe tells whether there is a next page without issuing another query
+        return reactiveRecipeReader.findPage(order, after == null ? null : after.key(), vegetarian, minServings,
+                        maxServings, size + 1)
+                .collectList()
+                .map(recipes -> {
+                    boolean hasNext = recipes.size() > size;
+                    List<VersionedRecipe> page = hasNext ? recipes.subList(0, size) : recipes;
+                    String nextCursor = null;
+                    if (hasNext) {
+                        nextCursor = RecipePageCursor.after(order, page.get(page.size() - 1)).encode();
+                    }
+                    return new RecipePageDTO(page.stream().map(VersionedRecipe::recipe).toList(), nextCursor);
+                });
+    }
+
+    /**
+     * Creates a recipe through {@link RecipeService#createRecipe(RecipeDTO)} off the calling thread
+     *
+     * @param recipeDTO recipe to be created
+     * @return an empty mono, or an error with DuplicateEntryException if there is a recipe with the same name
+     */
+    public Mono<Void> createRecipe(RecipeDTO recipeDTO) {
+        return Mono.<Void>fromCallable(() -> {
+            recipeService.createRecipe(recipeDTO);
+            return null;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,67 @@
+package com.jgb.recipesystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jgb.recipesystem.configuration.ReplicaProperties;
+import com.jgb.recipesystem.database.routing.ReplicaRoutingDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * RecentRecipeWrites
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecentRecipeWrites</code>
+ * <br>
+ * Remembers the names of the recipes written by this instance during the read-your-writes window of the replicas,
+ * and sends reads of those recipes to the primary. A replica may not have caught up with such a write yet, and a
+ * recipe read from it would be stale for the client that wrote it. The caches do not depend on the window: they
+ * never take a recipe read from a replica, however far behind the replica is.
+ * <br>
+ * Does nothing when the replicas are not enabled.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class RecentRecipeWrites {
+
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    private final Cache<String, Boolean> writtenNames;
+
+    public RecentRecipeWrites(ReplicaProperties properties) {
+        this.writtenNames = properties.isEnabled() && !properties.getReadYourWritesWindow().isZero()
+                ? Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(properties.getReadYourWritesWindow()).build()
+                : null;
+    }
+
+    /**
+     * Records the write as soon as it is published, before it commits, so that the window covers the commit too
+     */
+    @EventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (writtenNames != null) {
+            writtenNames.put(event.name(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Runs a read on the primary if any of the recipes it reads was written within the window, wherever the
+     * transaction would route it otherwise
+     *
+     * @param recipeNames names of the recipes the read returns
+     * @param read        read to be run, it has to be the first one of its transaction
+     * @return the result of the read
+     */
+    public <T> T read(Collection<String> recipeNames, Supplier<T> read) {
+        if (writtenNames != null && recipeNames.stream().anyMatch(name -> writtenNames.getIfPresent(name) != null)) {
+            return ReplicaRoutingDataSource.readFromPrimary(read);
+        }
+        return read.get();
+    }
+}
@@ -0,0 +1,302 @@
+package com.jgb.recipesystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.cache.RecipeResponseCache;
+import com.jgb.recipesystem.configuration.RecipeBulkProperties;
+import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.exception.handler.ErrorMessage;
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.BulkRecipeReportDTO;
+import com.jgb.recipesystem.model.BulkRecipeResultDTO;
+import com.jgb.recipesystem.model.BulkRecipeStatus;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.validation.RecipeValidator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RecipeBulkService
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeBulkService</code>
+ * <br>
+ * Ingests large amounts of recipes. Recipes are validated one by one and written in batches, one transaction per
+ * batch, so that Hibernate sends the recipe and ingredient inserts of a whole batch as JDBC batches.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RecipeBulkProperties.class)
+public class RecipeBulkService {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeValidator recipeValidator;
+    private final RecipeCache recipeCache;
+    private final RecipeResponseCache recipeResponseCache;
+    private final IngredientDictionary ingredientDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final RecipeBulkProperties bulkProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Starts a bulk ingest. Recipes are fed one at a time, so callers can stream them from the request body
+     *
+     * @param upsert whether recipes whose name already exists are updated instead of reported as duplicates
+     * @return the ingest to feed recipes to
+     */
+    public BulkIngest begin(boolean upsert) {
+        return new BulkIngest(upsert);
+    }
+
+    /**
+     * Convenience method that feeds every recipe of a list to a new ingest
+     *
+     * @param recipes recipes to ingest
+     * @param upsert  whether recipes whose name already exists are updated instead of reported as duplicates
+     * @return the outcome of every recipe
+     */
+    @Timed("recipe.service")
+    public BulkRecipeReportDTO importRecipes(List<RecipeDTO> recipes, boolean upsert) {
+        BulkIngest ingest = begin(upsert);
+        recipes.forEach(ingest::add);
+        return ingest.finish();
+    }
+
+    /**
+     * Ingests newline delimited JSON, one recipe per line, without holding more than a batch of recipes in memory.
+     * Lines that are not valid JSON are reported as invalid and the ingest goes on
+     *
+     * @param reader NDJSON input
+     * @param upsert whether recipes whose name already exists are updated instead of reported as duplicates
+     * @return the outcome of every non-blank line
+     * @throws IOException if the input cannot be read
+     */
+    @Timed("recipe.service")
+    public BulkRecipeReportDTO importNdjson(Reader reader, boolean upsert) throws IOException {
+        BulkIngest ingest = begin(upsert);
+        BufferedReader lines = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                ingest.add(objectMapper.readValue(line, RecipeDTO.class));
+            } catch (JsonProcessingException e) {
+                ingest.reject("Line could not be read as a recipe: " + e.getOriginalMessage());
+            }
+        }
+        return ingest.finish();
+    }
+
+    /**
+     * A single bulk request. Not thread safe
+     */
+    public final class BulkIngest {
+
+        private final boolean upsert;
+        private final BulkRecipeReportDTO report = new BulkRecipeReportDTO();
+        private final Set<String> names = new HashSet<>();
+        private final List<PendingRecipe> batch = new ArrayList<>();
+        private int index;
+
+        private BulkIngest(boolean upsert) {
+            this.upsert = upsert;
+        }
+
+        /**
+         * Validates a recipe and queues it to be written with the current batch
+         *
+         * @param recipeDTO recipe to ingest, may be null
+         */
+        public void add(RecipeDTO recipeDTO) {
+            int position = index++;
+            if (recipeDTO == null) {
+                report.add(invalid(position, null, List.of(ErrorMessage.builder().message("Recipe may not be null.").build())));
+                return;
+            }
+            List<ErrorMessage> errors = validate(recipeDTO);
+            if (!errors.isEmpty()) {
+                report.add(invalid(position, recipeDTO.getName(), errors));
+                return;
+            }
+            queue(position, recipeDTO);
+        }
+
+        /**
+         * Queues a recipe that the caller has already validated to be written with the current batch
+         *
+         * @param recipeDTO valid recipe to ingest
+         */
+        public void addValidated(RecipeDTO recipeDTO) {
+            queue(index++, recipeDTO);
+        }
+
+        private void queue(int position, RecipeDTO recipeDTO) {
+            if (!names.add(recipeDTO.getName())) {
+                report.add(new BulkRecipeResultDTO(position, recipeDTO.getName(), BulkRecipeStatus.DUPLICATE, null));
+                return;
+            }
+            batch.add(new PendingRecipe(position, recipeDTO));
+            if (batch.size() >= bulkProperties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        /**
+         * Reports an item of the request that could not be read as a recipe
+         *
+         * @param message why the item could not be read
+         */
+        public void reject(String message) {
+            report.add(invalid(index++, null, List.of(ErrorMessage.builder().message(message).build())));
+        }
+
+        /**
+         * Writes the last batch
+         *
+         * @return the outcome of every recipe, in request order
+         */
+        public BulkRecipeReportDTO finish() {
+            flush();
+            report.getResults().sort(Comparator.comparing(BulkRecipeResultDTO::getIndex));
+            return report;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            // new ingredients of the whole batch are added to the dictionary before the batch transaction begins
+            ingredientDictionary.resolve(batch.stream()
+                    .flatMap(pendingRecipe -> pendingRecipe.recipe().getIngredients().stream())
+                    .collect(Collectors.toSet()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch, upsert).forEach(report::add));
+            } catch (DataIntegrityViolationException e) {
+                // a recipe of the batch was created concurrently or broke another constraint, write them one by one
+                // to find out which
+                log.warn("Bulk batch of {} recipes failed, retrying one by one: {}", batch.size(), e.getMessage());
+                for (PendingRecipe pendingRecipe : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> writeBatch(List.of(pendingRecipe), upsert).forEach(report::add));
+                    } catch (DataIntegrityViolationException violation) {
+                        report.add(rejected(pendingRecipe, violation));
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Checks a recipe against the {@link RecipeValidator} rules. Safe to call from several threads at once
+     *
+     * @param recipeDTO recipe to check
+     * @return the errors found, empty if the recipe is valid
+     */
+    public List<ErrorMessage> validate(RecipeDTO recipeDTO) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(recipeDTO, "recipeDTO");
+        recipeValidator.validate(recipeDTO, bindingResult);
+        return bindingResult.getFieldErrors().stream()
+                .map(e -> ErrorMessage.builder().code(e.getCode()).message(e.getDefaultMessage())
+                        .rejectedValue(e.getRejectedValue()).fieldName(e.getField()).build())
+                .toList();
+    }
+
+    private List<BulkRecipeResultDTO> writeBatch(List<PendingRecipe> pendingRecipes, boolean upsert) {
+        List<String> batchNames = pendingRecipes.stream().map(pendingRecipe -> pendingRecipe.recipe().getName()).toList();
+        Map<String, Recipe> existingRecipes = upsert
+                ? recipeRepository.findAllWithIngredientsByNameIn(batchNames).stream()
+                        .collect(Collectors.toMap(Recipe::getName, Function.identity()))
+                : Map.of();
+        Set<String> takenNames = upsert ? existingRecipes.keySet() : new HashSet<>(recipeRepository.findExistingNames(batchNames));
+
+        List<BulkRecipeResultDTO> results = new ArrayList<>(pendingRecipes.size());
+        List<Recipe> newRecipes = new ArrayList<>();
+        List<PendingRecipe> created = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (PendingRecipe pendingRecipe : pendingRecipes) {
+            RecipeDTO recipeDTO = pendingRecipe.recipe();
+            if (!takenNames.contains(recipeDTO.getName())) {
+                Recipe recipe = RecipeMapper.MAPPER.toRecipeEntity(recipeDTO);
+                recipe.setIngredients(ingredientDictionary.references(recipeDTO.getIngredients()));
+                recipe.setCreationDateTime(now);
+                newRecipes.add(recipe);
+                created.add(pendingRecipe);
+            } else if (upsert) {
+                Recipe existingRecipe = existingRecipes.get(recipeDTO.getName());
+                existingRecipe.setVegetarian(recipeDTO.getVegetarian());
+                existingRecipe.setServings(recipeDTO.getServings());
+                existingRecipe.replaceIngredients(ingredientDictionary.references(recipeDTO.getIngredients()));
+                existingRecipe.setCookingInstructions(recipeDTO.getCookingInstructions());
+                recipeCache.evict(recipeDTO.getName());
+                recipeResponseCache.evict(recipeDTO.getName());
+                eventPublisher.publishEvent(RecipeChangedEvent.updated(existingRecipe.getId(), recipeDTO));
+                results.add(new BulkRecipeResultDTO(pendingRecipe.index(), recipeDTO.getName(), BulkRecipeStatus.UPDATED, null));
+            } else {
+                results.add(new BulkRecipeResultDTO(pendingRecipe.index(), recipeDTO.getName(), BulkRecipeStatus.DUPLICATE, null));
+            }
+        }
+
+        List<Recipe> savedRecipes = recipeRepository.saveAll(newRecipes);
+        for (int i = 0; i < created.size(); i++) {
+            RecipeDTO recipeDTO = created.get(i).recipe();
+            recipeCache.evict(recipeDTO.getName());
+            recipeResponseCache.evict(recipeDTO.getName());
+            eventPublisher.publishEvent(RecipeChangedEvent.created(savedRecipes.get(i).getId(), recipeDTO));
+            results.add(new BulkRecipeResultDTO(created.get(i).index(), recipeDTO.getName(), BulkRecipeStatus.CREATED, null));
+        }
+        // flushing here turns constraint violations into an exception of this batch instead of a commit failure
+        recipeRepository.flush();
+        return results;
+    }
+
+    /**
+     * Outcome of a recipe the database refused on its own. Only the unique key on the recipe name makes it a
+     * duplicate, any other violation is a recipe the database cannot store
+     */
+    private static BulkRecipeResultDTO rejected(PendingRecipe pendingRecipe, DataIntegrityViolationException violation) {
+        String name = pendingRecipe.recipe().getName();
+        if (RecipeService.isDuplicateName(violation)) {
+            return new BulkRecipeResultDTO(pendingRecipe.index(), name, BulkRecipeStatus.DUPLICATE, null);
+        }
+        log.warn("Bulk recipe {} was refused by the database: {}", name, violation.getMostSpecificCause().getMessage());
+        return invalid(pendingRecipe.index(), name, List.of(ErrorMessage.builder()
+                .message("Recipe could not be stored: " + violation.getMostSpecificCause().getMessage()).build()));
+    }
+
+    private static BulkRecipeResultDTO invalid(int index, String name, List<ErrorMessage> errors) {
+        return new BulkRecipeResultDTO(index, name, BulkRecipeStatus.INVALID, errors);
+    }
+
+    private record PendingRecipe(int index, RecipeDTO recipe) {
+    }
+}
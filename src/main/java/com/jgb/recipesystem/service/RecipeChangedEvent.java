@@ -0,0 +1,39 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+
+/**
+ * RecipeChangedEvent
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeChangedEvent</code>
+ * <br>
+ * Published by {@link RecipeService} whenever a recipe is created, updated or deleted. Listeners that keep derived
+ * state, such as the search indexes, should consume it once the transaction has committed.
+ *
+ * @param type     kind of change
+ * @param recipeId id of the recipe, may be null for deletions
+ * @param name     name of the recipe
+ * @param recipe   recipe as it was written, null for deletions
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public record RecipeChangedEvent(Type type, Long recipeId, String name, RecipeDTO recipe) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static RecipeChangedEvent created(Long recipeId, RecipeDTO recipe) {
+        return new RecipeChangedEvent(Type.CREATED, recipeId, recipe.getName(), recipe);
+    }
+
+    public static RecipeChangedEvent updated(Long recipeId, RecipeDTO recipe) {
+        return new RecipeChangedEvent(Type.UPDATED, recipeId, recipe.getName(), recipe);
+    }
+
+    public static RecipeChangedEvent deleted(Long recipeId, String name) {
+        return new RecipeChangedEvent(Type.DELETED, recipeId, name, null);
+    }
+}
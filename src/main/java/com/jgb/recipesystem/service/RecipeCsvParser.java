@@ -0,0 +1,122 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RecipeCsvParser
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeCsvParser</code>
+ * <br>
+ * Reads recipes from CSV records as described by RFC 4180. Columns are found by the names in the header row, in any
+ * order, and ingredients are separated by | within their column. Values are not validated beyond their type, that is
+ * left to the {@link com.jgb.recipesystem.validation.RecipeValidator}. Thread safe.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+final class RecipeCsvParser {
+
+    private static final List<String> COLUMNS = List.of("name", "vegetarian", "servings", "ingredients",
+            "cookingInstructions");
+    private static final String INGREDIENT_SEPARATOR = "\\|";
+
+    private final int[] positions = new int[COLUMNS.size()];
+
+    /**
+     * @param header the header row
+     * @throws IllegalArgumentException if a column is missing from the header
+     */
+    RecipeCsvParser(String header) {
+        List<String> names = split(header).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            positions[i] = names.indexOf(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (positions[i] < 0) {
+                missing.add(COLUMNS.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header misses the columns " + missing);
+        }
+    }
+
+    /**
+     * @param record a record after the header row
+     * @return the recipe it holds, with null for the columns the record lacks or leaves empty
+     * @throws IllegalArgumentException if the record is not well-formed or a value is not of the right type
+     */
+    RecipeDTO parse(String record) {
+        List<String> fields = split(record);
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(field(fields, 0));
+        String vegetarian = field(fields, 1);
+        if (vegetarian != null && !vegetarian.isBlank()) {
+            if (!vegetarian.equalsIgnoreCase("true") && !vegetarian.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("vegetarian must be true or false, was " + vegetarian);
+            }
+            recipeDTO.setVegetarian(Boolean.parseBoolean(vegetarian));
+        }
+        String servings = field(fields, 2);
+        if (servings != null && !servings.isBlank()) {
+            try {
+                recipeDTO.setServings(Integer.parseInt(servings.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("servings must be a whole number, was " + servings);
+            }
+        }
+        String ingredients = field(fields, 3);
+        if (ingredients != null && !ingredients.isEmpty()) {
+            recipeDTO.setIngredients(Arrays.stream(ingredients.split(INGREDIENT_SEPARATOR, -1)).map(String::trim).toList());
+        }
+        recipeDTO.setCookingInstructions(field(fields, 4));
+        return recipeDTO;
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        return position < fields.size() ? fields.get(position) : null;
+    }
+
+    /**
+     * Splits a record into its fields, unquoting them
+     *
+     * @param record CSV record
+     * @return the fields of the record
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("Record has a quoted field that is not closed");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jgb.recipesystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jgb.recipesystem.database.repository.RecipeExportReader;
+import com.jgb.recipesystem.model.RecipeDTO;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * RecipeExportService
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeExportService</code>
+ * <br>
+ * Dumps the whole recipe catalogue as newline delimited JSON, one recipe per line in the same format as get-recipe.
+ * Every recipe is written as soon as it is read, so a dump takes the same memory whatever the size of the catalogue.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Service
+public class RecipeExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final RecipeExportReader recipeExportReader;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recipeWriter;
+
+    public RecipeExportService(RecipeExportReader recipeExportReader, ObjectMapper objectMapper) {
+        this.recipeExportReader = recipeExportReader;
+        this.objectMapper = objectMapper;
+        // the output is flushed by the generator as its buffer fills up, not after every recipe
+        this.recipeWriter = objectMapper.writerFor(RecipeDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every recipe to the output, ordered by id. The output is flushed but not closed
+     *
+     * @param outputStream where the recipes are written
+     * @param gzip         whether the output is compressed with gzip
+     * @return number of recipes written
+     * @throws IOException if the output cannot be written
+     */
+    @Timed("recipe.service")
+    public long exportNdjson(OutputStream outputStream, boolean gzip) throws IOException {
+        GZIPOutputStream gzipOutputStream = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : null;
+        long[] count = new long[1];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip ? gzipOutputStream : outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            recipeExportReader.forEach(recipeDTO -> {
+                try {
+                    recipeWriter.writeValue(generator, recipeDTO);
+                    generator.writeRaw('\n');
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (gzipOutputStream != null) {
+            gzipOutputStream.finish();
+        }
+        outputStream.flush();
+        return count[0];
+    }
+}
@@ -0,0 +1,44 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.configuration.RecipeImportProperties;
+import com.jgb.recipesystem.model.RecipeFileFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * RecipeFileImportRunner
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeFileImportRunner</code>
+ * <br>
+ * Imports the file set in <code>recipe-system.import.file</code> once the application has started, then shuts the
+ * application down. A failed import stops the application with an error, and running it again resumes the import.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "recipe-system.import", name = "file")
+public class RecipeFileImportRunner implements ApplicationRunner {
+
+    private final RecipeFileImportService recipeFileImportService;
+    private final RecipeImportProperties importProperties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = importProperties.getFile();
+        RecipeFileFormat format = importProperties.getFormat() != null
+                ? importProperties.getFormat()
+                : RecipeFileFormat.of(file);
+        recipeFileImportService.importFile(file, format, importProperties.isUpsert());
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
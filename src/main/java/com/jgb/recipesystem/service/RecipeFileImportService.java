@@ -0,0 +1,348 @@
+package com.jgb.recipesystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.configuration.RecipeBulkProperties;
+import com.jgb.recipesystem.configuration.RecipeImportProperties;
+import com.jgb.recipesystem.exception.handler.ErrorMessage;
+import com.jgb.recipesystem.model.BulkRecipeReportDTO;
+import com.jgb.recipesystem.model.BulkRecipeResultDTO;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeFileFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * RecipeFileImportService
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeFileImportService</code>
+ * <br>
+ * Imports recipe files of any size. The import is a pipeline of three stages: a thread reads the file record by
+ * record, a pool of threads parses and validates the records, and the calling thread writes the valid recipes through
+ * {@link RecipeBulkService} in batches, one transaction per batch. The stages are joined by a bounded queue, in file
+ * order, so reading waits whenever validation or writing fall behind and memory stays flat.
+ * <br>
+ * Rejected records are written with their offset and errors to a sidecar file named after the file with
+ * <code>.errors.ndjson</code> appended. After every batch, and at every progress interval, a checkpoint is written
+ * next to it, with <code>.checkpoint</code> appended, and an import that finds a checkpoint goes on from there. The
+ * checkpoint is deleted once the whole file is imported.
+ * <br>
+ * Resuming is idempotent: the batch that was being committed when the import stopped is recorded in the checkpoint,
+ * and those of its recipes that already exist on resume are counted as created instead of rejected as duplicates.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties({RecipeImportProperties.class, RecipeBulkProperties.class})
+public class RecipeFileImportService {
+
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    static final String ERRORS_SUFFIX = ".errors.ndjson";
+
+    private static final Future<ParsedRecord> END_OF_FILE = CompletableFuture.completedFuture(null);
+
+    private final RecipeBulkService recipeBulkService;
+    private final RecipeImportProperties importProperties;
+    private final RecipeBulkProperties bulkProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Outcome of an import
+     *
+     * @param records     records read from the file, blank lines aside
+     * @param created     recipes created
+     * @param updated     recipes updated
+     * @param rejected    records written to the error file
+     * @param resumedFrom offset the import went on from, 0 if it started from the beginning of the file
+     * @param elapsed     time taken by this run of the import
+     */
+    public record ImportSummary(long records, long created, long updated, long rejected, long resumedFrom,
+                                Duration elapsed) {
+    }
+
+    /**
+     * Imports a file, going on from its checkpoint if there is one
+     *
+     * @param file   file to import
+     * @param format format of the file
+     * @param upsert whether recipes whose name already exists are updated instead of rejected as duplicates
+     * @return the outcome of the import, counting the records imported before the checkpoint
+     * @throws IOException          if the file cannot be read or the error or checkpoint files cannot be written
+     * @throws InterruptedException if the import is interrupted. The checkpoint is kept
+     * @throws IllegalStateException if the checkpoint was taken on another version of the file
+     */
+    public ImportSummary importFile(Path file, RecipeFileFormat format, boolean upsert) throws IOException, InterruptedException {
+        Path checkpointFile = file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+        Path errorsFile = file.resolveSibling(file.getFileName() + ERRORS_SUFFIX);
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        ImportCheckpoint checkpoint = ImportCheckpoint.read(checkpointFile).orElse(null);
+        if (checkpoint != null && !checkpoint.belongsTo(size, lastModified)) {
+            throw new IllegalStateException("Checkpoint " + checkpointFile + " was taken on another version of " + file
+                    + ", delete it to import the file from the beginning");
+        }
+        try (RecipeFileReader reader = new RecipeFileReader(file, format == RecipeFileFormat.CSV,
+                (int) importProperties.getMaxRecordLength().toBytes());
+             FileChannel errors = FileChannel.open(errorsFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            RecipeCsvParser csvParser = null;
+            long dataStart = 0;
+            if (format == RecipeFileFormat.CSV) {
+                RecipeFileReader.Record header = reader.next();
+                if (header == null || header.text() == null) {
+                    throw new IOException("CSV file " + file + " has no header row");
+                }
+                csvParser = new RecipeCsvParser(header.text());
+                dataStart = header.end();
+            }
+            // records past the checkpoint are imported again, so are their errors
+            errors.truncate(checkpoint == null ? 0 : checkpoint.errorsLength());
+            errors.position(errors.size());
+            if (checkpoint != null) {
+                log.info("Resuming import of {} from offset {} of {}", file, checkpoint.offset(), size);
+                reader.seek(checkpoint.offset());
+            }
+            ImportRun run = new ImportRun(file, size, lastModified, dataStart, checkpoint, checkpointFile, errors, upsert);
+            ImportSummary summary = run.execute(reader, csvParser);
+            Files.deleteIfExists(checkpointFile);
+            log.info("Imported {}: {} records, {} created, {} updated, {} rejected in {} s", file, summary.records(),
+                    summary.created(), summary.updated(), summary.rejected(), summary.elapsed().toSeconds());
+            return summary;
+        }
+    }
+
+    private ParsedRecord parse(RecipeFileReader.Record record, RecipeCsvParser csvParser) {
+        if (record.text() == null) {
+            return rejected(record, "Record is longer than " + importProperties.getMaxRecordLength().toBytes() + " bytes.");
+        }
+        RecipeDTO recipeDTO;
+        if (csvParser == null) {
+            try {
+                recipeDTO = objectMapper.readValue(record.text(), RecipeDTO.class);
+            } catch (JsonProcessingException e) {
+                return rejected(record, "Line could not be read as a recipe: " + e.getOriginalMessage());
+            }
+            if (recipeDTO == null) {
+                return rejected(record, "Recipe may not be null.");
+            }
+        } else {
+            try {
+                recipeDTO = csvParser.parse(record.text());
+            } catch (IllegalArgumentException e) {
+                return rejected(record, "Record could not be read as a recipe: " + e.getMessage());
+            }
+        }
+        return new ParsedRecord(record, recipeDTO, recipeBulkService.validate(recipeDTO));
+    }
+
+    private static ParsedRecord rejected(RecipeFileReader.Record record, String message) {
+        return new ParsedRecord(record, null, List.of(ErrorMessage.builder().message(message).build()));
+    }
+
+    /**
+     * A single import of a file. Counters and batches are only touched by the writing thread
+     */
+    private final class ImportRun {
+
+        private final Path file;
+        private final long size;
+        private final long lastModified;
+        private final Path checkpointFile;
+        private final FileChannel errors;
+        private final Writer errorsWriter;
+        private final boolean upsert;
+        private final long resumedFrom;
+        private final long resumedRecords;
+        private final long inDoubtUntil;
+        private final List<ParsedRecord> batch = new ArrayList<>();
+        private final long startTime = System.nanoTime();
+        private long nextProgress;
+        private long offset;
+        private long records;
+        private long created;
+        private long updated;
+        private long rejected;
+        private ImportCheckpoint lastCheckpoint;
+
+        private ImportRun(Path file, long size, long lastModified, long dataStart, ImportCheckpoint checkpoint,
+                          Path checkpointFile, FileChannel errors, boolean upsert) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checkpointFile = checkpointFile;
+            this.errors = errors;
+            this.errorsWriter = new BufferedWriter(Channels.newWriter(errors, StandardCharsets.UTF_8));
+            this.upsert = upsert;
+            this.lastCheckpoint = checkpoint != null ? checkpoint
+                    : new ImportCheckpoint(size, lastModified, dataStart, 0, 0, 0, 0, 0, 0);
+            offset = lastCheckpoint.offset();
+            records = lastCheckpoint.records();
+            created = lastCheckpoint.created();
+            updated = lastCheckpoint.updated();
+            rejected = lastCheckpoint.rejected();
+            this.resumedFrom = checkpoint == null ? 0 : offset;
+            this.resumedRecords = records;
+            this.inDoubtUntil = lastCheckpoint.inDoubtUntil();
+            this.nextProgress = startTime + importProperties.getProgressInterval().toNanos();
+        }
+
+        private ImportSummary execute(RecipeFileReader reader, RecipeCsvParser csvParser) throws IOException, InterruptedException {
+            int threads = importProperties.getValidationThreads() > 0
+                    ? importProperties.getValidationThreads()
+                    : Runtime.getRuntime().availableProcessors();
+            ExecutorService readingExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("recipe-import-reader-"));
+            ExecutorService validationExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("recipe-import-validator-"));
+            BlockingQueue<Future<ParsedRecord>> queue = new ArrayBlockingQueue<>(importProperties.getQueueCapacity());
+            try {
+                readingExecutor.execute(() -> read(reader, csvParser, validationExecutor, queue));
+                Future<ParsedRecord> next;
+                while ((next = queue.take()) != END_OF_FILE) {
+                    handle(next.get());
+                    if (System.nanoTime() >= nextProgress) {
+                        // a run of rejected records moves the checkpoint too, so its errors are not written again
+                        writeBatch();
+                        logProgress();
+                        nextProgress = System.nanoTime() + importProperties.getProgressInterval().toNanos();
+                    }
+                }
+                writeBatch();
+                errorsWriter.flush();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Import of " + file + " failed", e.getCause());
+            } finally {
+                readingExecutor.shutdownNow();
+                validationExecutor.shutdownNow();
+            }
+            return new ImportSummary(records, created, updated, rejected, resumedFrom,
+                    Duration.ofNanos(System.nanoTime() - startTime));
+        }
+
+        /**
+         * Runs on the reading thread. Hands every record to the validation pool and queues its result in file order,
+         * waiting while the queue is full
+         */
+        private void read(RecipeFileReader reader, RecipeCsvParser csvParser, ExecutorService validationExecutor,
+                          BlockingQueue<Future<ParsedRecord>> queue) {
+            try {
+                try {
+                    RecipeFileReader.Record record;
+                    while ((record = reader.next()) != null) {
+                        if (record.text() == null || !record.text().isBlank()) {
+                            RecipeFileReader.Record current = record;
+                            queue.put(validationExecutor.submit(() -> parse(current, csvParser)));
+                        }
+                    }
+                    queue.put(END_OF_FILE);
+                } catch (IOException | RuntimeException e) {
+                    queue.put(CompletableFuture.failedFuture(e));
+                }
+            } catch (InterruptedException e) {
+                // the import was stopped
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void handle(ParsedRecord parsedRecord) throws IOException {
+            records++;
+            offset = parsedRecord.record().end();
+            if (!parsedRecord.errors().isEmpty()) {
+                reject(parsedRecord.record(), parsedRecord.errors());
+                return;
+            }
+            batch.add(parsedRecord);
+            if (batch.size() >= bulkProperties.getBatchSize()) {
+                writeBatch();
+            }
+        }
+
+        /**
+         * Writes the pending batch, if any, and moves the checkpoint past every record handled so far
+         */
+        private void writeBatch() throws IOException {
+            if (!batch.isEmpty()) {
+                // if the import stops between the commit and the next checkpoint, the resumed run knows which
+                // recipes it may find already created
+                lastCheckpoint.inDoubtUntil(batch.get(batch.size() - 1).record().end()).write(checkpointFile);
+                RecipeBulkService.BulkIngest ingest = recipeBulkService.begin(upsert);
+                batch.forEach(parsedRecord -> ingest.addValidated(parsedRecord.recipe()));
+                BulkRecipeReportDTO report = ingest.finish();
+                for (BulkRecipeResultDTO result : report.getResults()) {
+                    RecipeFileReader.Record record = batch.get(result.getIndex()).record();
+                    switch (result.getStatus()) {
+                        case CREATED -> created++;
+                        case UPDATED -> updated++;
+                        case DUPLICATE -> {
+                            if (record.end() <= inDoubtUntil) {
+                                created++;
+                            } else {
+                                reject(record, List.of(ErrorMessage.builder()
+                                        .message("A recipe with name " + result.getName() + " already exists.").build()));
+                            }
+                        }
+                        case INVALID -> reject(record, result.getErrors());
+                    }
+                }
+                batch.clear();
+            }
+            if (records > lastCheckpoint.records()) {
+                // the errors must be on disk before the checkpoint moves past them
+                errorsWriter.flush();
+                errors.force(false);
+                lastCheckpoint = new ImportCheckpoint(size, lastModified, offset, errors.size(), records, created,
+                        updated, rejected, 0);
+                lastCheckpoint.write(checkpointFile);
+            }
+        }
+
+        private void reject(RecipeFileReader.Record record, List<ErrorMessage> errorMessages) throws IOException {
+            rejected++;
+            errorsWriter.write(objectMapper.writeValueAsString(new RejectedRecord(record.start(), record.text(), errorMessages)));
+            errorsWriter.write('\n');
+        }
+
+        private void logProgress() {
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            log.info("Importing {}: {} records, {} created, {} updated, {} rejected, {}% of the file, {} records/s, {} MB/s",
+                    file, records, created, updated, rejected, size == 0 ? 100 : offset * 100 / size,
+                    Math.round((records - resumedRecords) / seconds),
+                    String.format("%.1f", (offset - resumedFrom) / seconds / (1024 * 1024)));
+        }
+    }
+
+    private record ParsedRecord(RecipeFileReader.Record record, RecipeDTO recipe, List<ErrorMessage> errors) {
+    }
+
+    private record RejectedRecord(long offset, String record, List<ErrorMessage> errors) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.jgb.recipesystem.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * RecipeFileReader
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeFileReader</code>
+ * <br>
+ * Splits a file into newline delimited records. The file is read through a file channel into a fixed buffer, so any
+ * file size takes the same memory, and every record comes with the byte offsets it spans, so that a later read can
+ * start right after it. Not thread safe.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+final class RecipeFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+    private final boolean quoted;
+    private final int maxRecordLength;
+    private byte[] record = new byte[1024];
+    private int length;
+    private boolean tooLong;
+    private long position;
+
+    /**
+     * A record of the file
+     *
+     * @param start offset of its first byte
+     * @param end   offset right after its line break
+     * @param text  the record without its line break, null if it is longer than the longest record accepted
+     */
+    record Record(long start, long end, String text) {
+    }
+
+    /**
+     * @param file            file to read
+     * @param quoted          whether line breaks between double quotes belong to the record, as in CSV
+     * @param maxRecordLength longest record accepted, in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    RecipeFileReader(Path file, boolean quoted, int maxRecordLength) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.quoted = quoted;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Moves to an offset of the file, which must be the start of a record
+     *
+     * @param offset offset the next record starts at
+     * @throws IOException if the file cannot be read
+     */
+    void seek(long offset) throws IOException {
+        channel.position(offset);
+        buffer.clear().flip();
+        position = offset;
+    }
+
+    /**
+     * @return the next record, null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    Record next() throws IOException {
+        long start = position;
+        length = 0;
+        tooLong = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    return position == start ? null : toRecord(start);
+                }
+                continue;
+            }
+            byte[] bytes = buffer.array();
+            int from = buffer.position();
+            int limit = buffer.limit();
+            int i = from;
+            while (i < limit && (bytes[i] != '\n' || inQuotes)) {
+                if (quoted && bytes[i] == '"') {
+                    inQuotes = !inQuotes;
+                }
+                i++;
+            }
+            append(bytes, from, i - from);
+            position += i - from;
+            if (i < limit) {
+                buffer.position(i + 1);
+                position++;
+                return toRecord(start);
+            }
+            buffer.position(limit);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void append(byte[] bytes, int offset, int count) {
+        if (tooLong || count == 0) {
+            return;
+        }
+        if (length + count > maxRecordLength) {
+            tooLong = true;
+            return;
+        }
+        if (length + count > record.length) {
+            record = Arrays.copyOf(record, Math.min(maxRecordLength, Math.max(record.length * 2, length + count)));
+        }
+        System.arraycopy(bytes, offset, record, length, count);
+        length += count;
+    }
+
+    private Record toRecord(long start) {
+        if (tooLong) {
+            return new Record(start, position, null);
+        }
+        int offset = start == 0 && startsWithBom() ? UTF8_BOM.length : 0;
+        int end = length > offset && record[length - 1] == '\r' ? length - 1 : length;
+        return new Record(start, position, new String(record, offset, end - offset, StandardCharsets.UTF_8));
+    }
+
+    private boolean startsWithBom() {
+        return length >= UTF8_BOM.length && Arrays.equals(record, 0, UTF8_BOM.length, UTF8_BOM, 0, UTF8_BOM.length);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.exception.InvalidCursorException;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.VersionedRecipe;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * RecipePageCursor
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipePageCursor</code>
+ * <br>
+ * Opaque keyset cursor of the recipe listing. It holds the listing order and the key of the last recipe returned,
+ * encoded as url-safe base64 of <code>order:key</code>.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+record RecipePageCursor(RecipeListingOrder order, String key) {
+
+    private static final char SEPARATOR = ':';
+
+    static RecipePageCursor after(RecipeListingOrder order, VersionedRecipe recipe) {
+        String key = order == RecipeListingOrder.ID ? String.valueOf(recipe.version().recipeId()) : recipe.recipe().getName();
+        return new RecipePageCursor(order, key);
+    }
+
+    static RecipePageCursor decode(String cursor, RecipeListingOrder expectedOrder) throws InvalidCursorException {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor " + cursor + " is not valid.");
+        }
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0 || !decoded.substring(0, separator).equals(expectedOrder.name())) {
+            throw new InvalidCursorException("Cursor " + cursor + " does not belong to a listing ordered by " + expectedOrder + ".");
+        }
+        RecipePageCursor pageCursor = new RecipePageCursor(expectedOrder, decoded.substring(separator + 1));
+        if (expectedOrder == RecipeListingOrder.ID && pageCursor.idKey() == null) {
+            throw new InvalidCursorException("Cursor " + cursor + " is not valid.");
+        }
+        return pageCursor;
+    }
+
+    String encode() {
+        byte[] value = (order.name() + SEPARATOR + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+
+    Long idKey() {
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
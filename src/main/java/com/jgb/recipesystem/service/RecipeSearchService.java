@@ -0,0 +1,112 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.configuration.RecipeListingProperties;
+import com.jgb.recipesystem.configuration.RecipeSearchProperties;
+import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeSearchPageDTO;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * RecipeSearchService
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeSearchService</code>
+ * <br>
+ * Answers recipe searches from the in-memory indexes. The database is only queried to load the recipes of a page
+ * of results that are not cached yet.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties({RecipeSearchProperties.class, RecipeListingProperties.class})
+public class RecipeSearchService {
+
+    private final IngredientIndex ingredientIndex;
+    private final RecipeTextIndex recipeTextIndex;
+    private final RecipeRepository recipeRepository;
+    private final RecipeCache recipeCache;
+    private final RecentRecipeWrites recentWrites;
+    private final RecipeSearchProperties searchProperties;
+    private final RecipeListingProperties listingProperties;
+
+    /**
+     * Finds the recipes that use all the included ingredients and none of the excluded ones
+     *
+     * @param include    ingredients the recipes must contain
+     * @param exclude    ingredients the recipes must not contain, may be null
+     * @param maxResults largest number of recipes to return, capped to the configured maximum. Null for the maximum
+     * @return names of the matching recipes
+     */
+    @Timed("recipe.service")
+    public List<String> searchByIngredients(List<String> include, List<String> exclude, Integer maxResults) {
+        int limit = maxResults == null ? searchProperties.getMaxResults()
+                : Math.min(maxResults, searchProperties.getMaxResults());
+        return ingredientIndex.search(include, exclude == null ? List.of() : exclude, limit);
+    }
+
+    /**
+     * Ranks the recipes whose name or cooking instructions match a free text query
+     *
+     * @param query    free text query
+     * @param page     zero-based page of results
+     * @param pageSize number of recipes per page, capped to the configured maximum. Null for the default size
+     * @return the requested page of recipes, best match first. Pages past the configured maximum of results are empty
+     */
+    @Transactional(readOnly = true)
+    @Timed("recipe.service")
+    public RecipeSearchPageDTO searchByText(String query, int page, Integer pageSize) {
+        int size = Math.min(pageSize == null ? listingProperties.getDefaultPageSize() : pageSize,
+                listingProperties.getMaxPageSize());
+        long offset = (long) page * size;
+        int limit = (int) Math.max(0, Math.min(size, searchProperties.getMaxResults() - offset));
+        RecipeTextIndex.Result result = recipeTextIndex.search(query, (int) Math.min(offset, Integer.MAX_VALUE), limit);
+        return new RecipeSearchPageDTO(loadRecipes(result.hits()), page, size, result.totalHits());
+    }
+
+    private List<RecipeDTO> loadRecipes(List<RecipeTextIndex.Hit> hits) {
+        List<RecipeDTO> recipes = new ArrayList<>(hits.size());
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingNames = new ArrayList<>();
+        for (RecipeTextIndex.Hit hit : hits) {
+            Optional<RecipeDTO> cachedRecipe = recipeCache.get(hit.name()).map(VersionedRecipe::recipe);
+            recipes.add(cachedRecipe.orElse(null));
+            if (cachedRecipe.isEmpty()) {
+                missingIds.add(hit.recipeId());
+                missingNames.add(hit.name());
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            long stamp = recipeCache.stamp();
+            Map<Long, RecipeDTO> loaded = new HashMap<>();
+            for (VersionedRecipe recipe : recentWrites.read(missingNames, () -> recipeRepository.readAllByIdIn(missingIds))) {
+                recipeCache.put(recipe.recipe().getName(), recipe, stamp);
+                loaded.put(recipe.version().recipeId(), recipe.recipe());
+            }
+            for (int i = 0; i < hits.size(); i++) {
+                if (recipes.get(i) == null) {
+                    recipes.set(i, loaded.get(hits.get(i).recipeId()));
+                }
+            }
+        }
+        // recipes deleted after the search ran are left out of the page
+        recipes.removeIf(Objects::isNull);
+        return recipes;
+    }
+}
@@ -1,18 +1,48 @@
 package com.jgb.recipesystem.service;
 
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.cache.RecipeResponseCache;
+import com.jgb.recipesystem.configuration.RecipeListingProperties;
 import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeIngredientRow;
 import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.database.routing.ReplicaRoutingDataSource;
 import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.InvalidCursorException;
 import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.exception.RecipeVersionConflictException;
 import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeBatchDTO;
 import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -28,24 +58,58 @@ import java.util.Optional;
 @Service
 @Transactional
 @RequiredArgsConstructor
+@EnableConfigurationProperties(RecipeListingProperties.class)
 public class RecipeService {
 
     private final RecipeRepository recipeRepository;
+    private final RecipeCache recipeCache;
+    private final RecipeResponseCache recipeResponseCache;
+    private final IngredientDictionary ingredientDictionary;
+    private final RecipeListingProperties listingProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecentRecipeWrites recentWrites;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Handles the logic of creating a new recipe
+     * Handles the logic of creating a new recipe. The unique constraint on the recipe name is what detects
+     * duplicates, so the recipe is inserted straight away without looking the name up first.
+     * <br>
+     * New ingredients are added to the dictionary before the transaction that inserts the recipe begins, so that a
+     * create never holds two connections at once
      *
      * @param recipeDTO recipe object to be created
      * @throws DuplicateEntryException if there is a recipe with the same name in the DB
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed("recipe.service")
     public void createRecipe(RecipeDTO recipeDTO) throws DuplicateEntryException {
-        Optional<Recipe> existingRecipe = recipeRepository.findOneByName(recipeDTO.getName());
-        if (existingRecipe.isPresent()) {
-            throw new DuplicateEntryException("A recipe with name " +  recipeDTO.getName() + " already exists.");
+        ingredientDictionary.resolve(recipeDTO.getIngredients());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Recipe recipe = RecipeMapper.MAPPER.toRecipeEntity(recipeDTO);
+                recipe.setIngredients(ingredientDictionary.references(recipeDTO.getIngredients()));
+                recipe.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+                Recipe savedRecipe = recipeRepository.saveAndFlush(recipe);
+                recipeCache.evict(recipeDTO.getName());
+                recipeResponseCache.evict(recipeDTO.getName());
+                eventPublisher.publishEvent(RecipeChangedEvent.created(savedRecipe.getId(), recipeDTO));
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateName(e)) {
+                throw new DuplicateEntryException("A recipe with name " +  recipeDTO.getName() + " already exists.");
+            }
+            throw e;
         }
-        Recipe recipe = RecipeMapper.MAPPER.toRecipeEntity(recipeDTO);
-        recipe.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
-        recipeRepository.save(recipe);
+    }
+
+    /**
+     * Tells a recipe name that is already taken from any other violation, such as a missing ingredient. Databases
+     * report the constraint name with a schema or table prefix and H2 with an index suffix, so the name is searched
+     * for rather than compared. Shared with the bulk ingest, which tells duplicates apart the same way
+     */
+    static boolean isDuplicateName(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Recipe.NAME_CONSTRAINT);
     }
 
     /**
@@ -55,42 +119,285 @@ public class RecipeService {
      * @return an object containing all the recipe information
      * @throws RecipeNotFoundException if a recipe with the name passed as argument is not found in the database
      */
+    @Transactional(readOnly = true)
+    @Timed("recipe.service")
     public RecipeDTO getRecipe(String recipeName) throws RecipeNotFoundException {
-        Optional<Recipe> recipeOptional = recipeRepository.findOneByName(recipeName);
-        return recipeOptional.map(RecipeMapper.MAPPER::toRecipeDTO)
+        return getVersionedRecipe(recipeName).recipe();
+    }
+
+    /**
+     * Retrieves info about a specific recipe together with its current version. On a cache miss the recipe is read
+     * straight into a DTO from the joined rows, without hydrating the entity
+     *
+     * @param recipeName name of the recipe to retrieve
+     * @return the recipe and the version it was read at
+     * @throws RecipeNotFoundException if a recipe with the name passed as argument is not found in the database
+     */
+    @Transactional(readOnly = true)
+    @Timed("recipe.service")
+    public VersionedRecipe getVersionedRecipe(String recipeName) throws RecipeNotFoundException {
+        Optional<VersionedRecipe> cachedRecipe = recipeCache.get(recipeName);
+        if (cachedRecipe.isPresent()) {
+            return cachedRecipe.get();
+        }
+        long stamp = recipeCache.stamp();
+        VersionedRecipe recipe = recentWrites.read(List.of(recipeName), () -> recipeRepository.readByName(recipeName))
+                .orElseThrow(() -> new RecipeNotFoundException("Could not find recipe with name " + recipeName));
+        recipeCache.put(recipeName, recipe, stamp);
+        return recipe;
+    }
+
+    /**
+     * Retrieves a recipe at the version {@link #getRecipeVersion(String)} returns. Served from the cache when the
+     * recipe is cached, otherwise read from the primary even with read replicas, so that a client whose copy turned
+     * out to be stale does not get an older one from a lagging replica
+     *
+     * @param recipeName name of the recipe to retrieve
+     * @return the recipe and the version it was read at
+     * @throws RecipeNotFoundException if a recipe with the name passed as argument is not found in the database
+     */
+    @Transactional(readOnly = true)
+    @Timed("recipe.service")
+    public VersionedRecipe getLatestRecipe(String recipeName) throws RecipeNotFoundException {
+        Optional<VersionedRecipe> cachedRecipe = recipeCache.get(recipeName);
+        if (cachedRecipe.isPresent()) {
+            return cachedRecipe.get();
+        }
+        long stamp = recipeCache.stamp();
+        VersionedRecipe recipe = ReplicaRoutingDataSource.readFromPrimary(() -> recipeRepository.readByName(recipeName))
+                .orElseThrow(() -> new RecipeNotFoundException("Could not find recipe with name " + recipeName));
+        recipeCache.put(recipeName, recipe, stamp);
+        return recipe;
+    }
+
+    /**
+     * Retrieves many recipes by name at once. Cached recipes are served from the cache, the rest are loaded together
+     * with their ingredients in a single statement
+     *
+     * @param recipeNames names of the recipes to retrieve, repeated names are only looked up once
+     * @return the recipes found, in the order their names were given, and the names that have no recipe
+     */
+    @Transactional(readOnly = true)
+    @Timed("recipe.service")
+    public RecipeBatchDTO getRecipes(Collection<String> recipeNames) {
+        Map<String, RecipeDTO> recipes = new LinkedHashMap<>();
+        List<String> uncachedNames = new ArrayList<>();
+        for (String recipeName : new LinkedHashSet<>(recipeNames)) {
+            Optional<VersionedRecipe> cachedRecipe = recipeCache.get(recipeName);
+            recipes.put(recipeName, cachedRecipe.map(VersionedRecipe::recipe).orElse(null));
+            if (cachedRecipe.isEmpty()) {
+                uncachedNames.add(recipeName);
+            }
+        }
+        if (!uncachedNames.isEmpty()) {
+            long stamp = recipeCache.stamp();
+            for (VersionedRecipe recipe : recentWrites.read(uncachedNames, () -> recipeRepository.readAllByNameIn(uncachedNames))) {
+                recipeCache.put(recipe.recipe().getName(), recipe, stamp);
+                recipes.put(recipe.recipe().getName(), recipe.recipe());
+            }
+        }
+        List<RecipeDTO> found = new ArrayList<>(recipes.size());
+        List<String> missing = new ArrayList<>();
+        recipes.forEach((recipeName, recipe) -> {
+            if (recipe == null) {
+                missing.add(recipeName);
+            } else {
+                found.add(recipe);
+            }
+        });
+        return new RecipeBatchDTO(found, missing);
+    }
+
+    /**
+     * Retrieves the current version of a recipe. Served from the cache when the recipe is cached, otherwise read
+     * without loading the ingredients. The read is not marked read-only so that it always goes to the primary:
+     * clients send the version back in If-Match and If-None-Match, and a lagging replica would fail their writes.
+     * A recipe served after this check has to come from {@link #getLatestRecipe(String)}
+     *
+     * @param recipeName name of the recipe
+     * @return the current version of the recipe
+     * @throws RecipeNotFoundException if a recipe with the name passed as argument is not found in the database
+     */
+    @Timed("recipe.service")
+    public RecipeVersion getRecipeVersion(String recipeName) throws RecipeNotFoundException {
+        Optional<VersionedRecipe> cachedRecipe = recipeCache.get(recipeName);
+        if (cachedRecipe.isPresent()) {
+            return cachedRecipe.get().version();
+        }
+        return recipeRepository.findVersionByName(recipeName)
                 .orElseThrow(() -> new RecipeNotFoundException("Could not find recipe with name " + recipeName));
     }
 
     /**
-     * Updates a recipe, if a recipe with that name is found in the DB
+     * Lists recipes page by page, seeking past the key held by the cursor instead of skipping rows.
+     * Recipes of the whole page are read with their ingredients in a single statement, straight into DTOs.
+     *
+     * @param order       key the listing is ordered and paginated by
+     * @param cursor      cursor returned with the previous page, null to get the first page
+     * @param vegetarian  only list recipes with this vegetarian flag, if not null
+     * @param minServings only list recipes with at least this many servings, if not null
+     * @param maxServings only list recipes with at most this many servings, if not null
+     * @param pageSize    number of recipes per page, capped to the configured maximum. Null for the default size
+     * @return the page of recipes and, if there are more, the cursor of the next page
+     * @throws InvalidCursorException if the cursor cannot be decoded or belongs to a listing with another order
+     */
+    @Transactional(readOnly = true)
+    @Timed("recipe.service")
+    public RecipePageDTO listRecipes(RecipeListingOrder order, String cursor, Boolean vegetarian, Integer minServings,
+                                     Integer maxServings, Integer pageSize) throws InvalidCursorException {
+        RecipePageCursor after = cursor == null ? null : RecipePageCursor.decode(cursor, order);
+        int size = Math.min(pageSize == null ? listingProperties.getDefaultPageSize() : pageSize,
+                listingProperties.getMaxPageSize());
+        // one extra id tells whether there is a next page without issuing another query
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<Long> ids = order == RecipeListingOrder.ID
+                ? recipeRepository.findIdsAfterId(after == null ? null : after.idKey(), vegetarian, minServings, maxServings, limit)
+                : recipeRepository.findIdsAfterName(after == null ? null : after.key(), vegetarian, minServings, maxServings, limit);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        if (pageIds.isEmpty()) {
+            return new RecipePageDTO(List.of(), null);
+        }
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            positions.put(pageIds.get(i), i);
+        }
+        List<VersionedRecipe> recipes = recipeRepository.readAllByIdIn(pageIds).stream()
+                .sorted(Comparator.comparing(recipe -> positions.get(recipe.version().recipeId())))
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            // recipes deleted between both queries are missing from the page, the cursor then stays where it was
+            nextCursor = recipes.isEmpty() ? cursor : RecipePageCursor.after(order, recipes.get(recipes.size() - 1)).encode();
+        }
+        return new RecipePageDTO(recipes.stream().map(VersionedRecipe::recipe).toList(), nextCursor);
+    }
+
+    /**
+     * Updates a recipe, if a recipe with that name is found in the DB. The recipe columns are overwritten with a
+     * single update statement, and only the ingredient rows that changed are written
      *
      * @param recipeDTO object containing information about the new recipe
+     * @return the version the recipe is at after the update
      * @throws RecipeNotFoundException if a recipe with the name passed in recipeDTO is not found in the database
      */
-    public void updateRecipe(RecipeDTO recipeDTO) throws RecipeNotFoundException {
-        Optional<Recipe> recipeOptional = recipeRepository.findOneByName(recipeDTO.getName());
-        if (recipeOptional.isEmpty()) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed("recipe.service")
+    public RecipeVersion updateRecipe(RecipeDTO recipeDTO) throws RecipeNotFoundException {
+        return updateRecipe(recipeDTO, null);
+    }
+
+    /**
+     * Updates a recipe only if it is at the version the client expects. The write is a compare-and-set on the
+     * version the ingredients were read at, so the ingredient rows are diffed against the state being replaced and a
+     * concurrent writer makes this update fail instead of being overwritten. As on create, new ingredients are added
+     * to the dictionary before the transaction that writes the recipe begins.
+     * <br>
+     * Without an expected version the last write wins, as it always did: when another writer commits between the
+     * read and the write, the update is applied again on top of it with the recipe row locked
+     *
+     * @param recipeDTO       object containing information about the new recipe
+     * @param expectedVersion version the client based its changes on, null to update whatever version is current
+     * @return the version the recipe is at after the update
+     * @throws RecipeNotFoundException        if a recipe with the name passed in recipeDTO is not found in the database
+     * @throws RecipeVersionConflictException if the recipe is not at the expected version, or another writer updated
+     *                                        it at the same time. Only thrown when an expected version is given
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed("recipe.service")
+    public RecipeVersion updateRecipe(RecipeDTO recipeDTO, RecipeVersion expectedVersion) throws RecipeNotFoundException {
+        List<Long> ingredientIds = ingredientDictionary.ids(recipeDTO.getIngredients());
+        RecipeVersion newVersion;
+        try {
+            newVersion = transactionTemplate.execute(status -> writeRecipe(recipeDTO, expectedVersion, ingredientIds, false));
+        } catch (RecipeVersionConflictException e) {
+            if (e.isConditional()) {
+                throw e;
+            }
+            newVersion = transactionTemplate.execute(status -> writeRecipe(recipeDTO, null, ingredientIds, true));
+        }
+        if (newVersion == null) {
             throw new RecipeNotFoundException("Could not find recipe with name " + recipeDTO.getName());
         }
-        Recipe recipe = RecipeMapper.MAPPER.toRecipeEntity(recipeDTO);
-        recipe.setId(recipeOptional.get().getId());
-        recipe.setCreationDateTime(recipeOptional.get().getCreationDateTime());
-        recipeRepository.save(recipe);
+        return newVersion;
+    }
 
+    /**
+     * Body of {@link #updateRecipe(RecipeDTO, RecipeVersion)}, run inside its transaction
+     *
+     * @param lock whether the recipe row is locked before it is read, so that no other writer can get in between
+     * @return the version the recipe is at after the update, null if there is no recipe with that name
+     */
+    private RecipeVersion writeRecipe(RecipeDTO recipeDTO, RecipeVersion expectedVersion, List<Long> ingredientIds,
+                                      boolean lock) {
+        if (lock && recipeRepository.lockVersionByName(recipeDTO.getName()).isEmpty()) {
+            return null;
+        }
+        List<RecipeIngredientRow> rows = recipeRepository.findIngredientRowsByName(recipeDTO.getName());
+        if (rows.isEmpty()) {
+            return null;
+        }
+        RecipeVersion currentVersion = new RecipeVersion(rows.get(0).getId(), rows.get(0).getVersion());
+        boolean conditional = expectedVersion != null;
+        if (conditional && !expectedVersion.equals(currentVersion)) {
+            throw versionConflict(recipeDTO.getName(), true);
+        }
+        List<Long> currentIngredientIds = rows.stream().map(RecipeIngredientRow::getIngredientId).filter(Objects::nonNull).toList();
+        if (recipeRepository.updateRecipe(currentVersion.recipeId(), currentVersion.version(), recipeDTO.getVegetarian(),
+                recipeDTO.getServings(), recipeDTO.getCookingInstructions()) == 0) {
+            throw versionConflict(recipeDTO.getName(), conditional);
+        }
+        recipeRepository.updateIngredients(currentVersion.recipeId(), currentIngredientIds, ingredientIds);
+        recipeCache.evict(recipeDTO.getName());
+        recipeResponseCache.evict(recipeDTO.getName());
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(currentVersion.recipeId(), recipeDTO));
+        return new RecipeVersion(currentVersion.recipeId(), currentVersion.version() + 1);
     }
 
     /**
-     * Deletes a recipe
+     * Deletes a recipe and its ingredient references with one statement each
      *
      * @param recipeName name of the recipe to delete
      * @throws RecipeNotFoundException if a recipe with the name passed as argument is not found in the database.
      */
+    @Timed("recipe.service")
     public void deleteRecipe(String recipeName) throws RecipeNotFoundException {
-        Optional<Recipe> recipeToDelete = recipeRepository.findOneByName(recipeName);
-        if (recipeToDelete.isEmpty()) {
+        if (recipeRepository.deleteRecipeByName(recipeName) == 0) {
             throw new RecipeNotFoundException("Could not find recipe with name " + recipeName);
         }
-        recipeRepository.deleteByName(recipeName);
+        recipeCache.evict(recipeName);
+        recipeResponseCache.evict(recipeName);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(null, recipeName));
+    }
+
+    /**
+     * Deletes a recipe only if it is at the version the client expects, checking the version in the delete statement
+     * itself
+     *
+     * @param recipeName      name of the recipe to delete
+     * @param expectedVersion version the client expects the recipe to be at
+     * @throws RecipeNotFoundException        if a recipe with the name passed as argument is not found in the database
+     * @throws RecipeVersionConflictException if the recipe is not at the expected version
+     */
+    @Timed("recipe.service")
+    public void deleteRecipe(String recipeName, RecipeVersion expectedVersion) throws RecipeNotFoundException {
+        if (recipeRepository.deleteRecipeByNameAndVersion(recipeName, expectedVersion.recipeId(), expectedVersion.version()) == 0) {
+            // tells a missing recipe apart from a stale version only once the delete has failed
+            if (recipeRepository.findVersionByName(recipeName).isPresent()) {
+                throw versionConflict(recipeName, true);
+            }
+            throw new RecipeNotFoundException("Could not find recipe with name " + recipeName);
+        }
+        recipeCache.evict(recipeName);
+        recipeResponseCache.evict(recipeName);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(expectedVersion.recipeId(), recipeName));
+    }
+
+    private static RecipeVersionConflictException versionConflict(String recipeName, boolean conditional) {
+        return new RecipeVersionConflictException(conditional
+                ? "Recipe " + recipeName + " is not at the expected version"
+                : "Recipe " + recipeName + " was updated concurrently", conditional);
     }
 
 }
@@ -1,6 +1,9 @@
 package com.jgb.recipesystem.validation;
 
+import com.jgb.recipesystem.database.entity.Ingredient;
+import com.jgb.recipesystem.database.entity.Recipe;
 import com.jgb.recipesystem.model.RecipeDTO;
+import io.micrometer.core.annotation.Timed;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -33,6 +36,7 @@ public class RecipeValidator implements Validator {
     }
 
     @Override
+    @Timed("recipe.validation")
     public void validate(Object target, Errors errors) {
         if (errors instanceof AbstractBindingResult bindingResult) {
             if (RecipeDTO.class.isAssignableFrom(target.getClass())) {
@@ -42,11 +46,11 @@ public class RecipeValidator implements Validator {
     }
 
     private void validateRecipe(RecipeDTO recipe, AbstractBindingResult bindingResult) {
-        validateString(recipe.getName(), "name", bindingResult);
+        validateString(recipe.getName(), "name", Recipe.NAME_LENGTH, bindingResult);
         validateBoolean(recipe.getVegetarian(), bindingResult);
         validateInteger(recipe.getServings(), bindingResult);
         validateIngredientList(recipe.getIngredients(), bindingResult);
-        validateString(recipe.getCookingInstructions(), "cookingInstructions", bindingResult);
+        validateString(recipe.getCookingInstructions(), "cookingInstructions", Recipe.COOKING_INSTRUCTIONS_LENGTH, bindingResult);
     }
 
     private void validateIngredientList(List<String> value, AbstractBindingResult bindingResult) {
@@ -56,6 +60,8 @@ public class RecipeValidator implements Validator {
             buildErrorCode("ingredients", value, ValidationCodes.NOT_EMPTY, bindingResult);
         } else if (value.stream().anyMatch(i -> Objects.isNull(i) || i.isBlank())) {
             buildErrorCode("ingredients", value, ValidationCodes.NOT_EMPTY, bindingResult);
+        } else if (value.stream().anyMatch(i -> i.length() > Ingredient.NAME_LENGTH)) {
+            buildErrorCode("ingredients", value, ValidationCodes.TOO_LONG, bindingResult);
         }
     }
 
@@ -73,11 +79,13 @@ public class RecipeValidator implements Validator {
         }
     }
 
-    private void validateString(String value, String fieldName, AbstractBindingResult bindingResult) {
+    private void validateString(String value, String fieldName, int maxLength, AbstractBindingResult bindingResult) {
         if (value ==null) {
             buildErrorCode(fieldName, null, ValidationCodes.NOT_NULL, bindingResult);
         } else if (value.isBlank()) {
             buildErrorCode(fieldName, value, ValidationCodes.NOT_EMPTY, bindingResult);
+        } else if (value.length() > maxLength) {
+            buildErrorCode(fieldName, value, ValidationCodes.TOO_LONG, bindingResult);
         }
     }
 
@@ -95,6 +103,7 @@ enum ValidationCodes {
     NOT_NULL("non-null","Value may not be null."),
     GT_ZERO("greater_than_zero","Please specify a value greater than zero."),
     NOT_EMPTY("non_empty", "Value may not be empty."),
+    TOO_LONG("too_long", "Value is longer than the database can store."),
     INVALID_LIST_VALUE("invalid_list_value", "One or more values in the list are null or empty");
 
     private final String code;
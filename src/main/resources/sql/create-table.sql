@@ -9,14 +9,24 @@ INSERT INTO hibernate_sequence (next_val) VALUES (1);
 CREATE TABLE IF NOT EXISTS recipe (
     id bigint(20) primary key auto_increment,
     creation_date_time timestamp,
-    name varchar(50) not null unique,
+    name varchar(50) not null,
     vegetarian smallint(1) not null,
     servings int not null,
-    cooking_instructions varchar(2000) not null
+    cooking_instructions varchar(2000) not null,
+    version bigint(20) not null default 0,
+    constraint uk_recipe_name unique (name)
 );
 
-CREATE TABLE IF NOT EXISTS ingredients_list (
-    id bigint(20) NOT NULL,
-    ingredients_list varchar(255) DEFAULT NULL,
-    FOREIGN KEY (id) REFERENCES recipe(id)
+CREATE TABLE IF NOT EXISTS ingredient (
+    id bigint(20) primary key,
+    name varchar(255) COLLATE utf8mb4_0900_bin not null unique
+);
+
+CREATE TABLE IF NOT EXISTS recipe_ingredient (
+    recipe_id bigint(20) NOT NULL,
+    ingredient_order int NOT NULL,
+    ingredient_id bigint(20) NOT NULL,
+    PRIMARY KEY (recipe_id, ingredient_order),
+    FOREIGN KEY (recipe_id) REFERENCES recipe(id),
+    FOREIGN KEY (ingredient_id) REFERENCES ingredient(id)
 );
\ No newline at end of file
@@ -0,0 +1,9 @@
+use recipe;
+
+-- Recipe ids are now reserved in blocks of 50 per node (Hibernate pooled-lo optimizer over hibernate_sequence).
+-- pooled-lo reads next_val as the first id of its block, which is what the previous one-by-one allocation left in the
+-- table, so nodes on either version can run side by side during a rolling deploy without handing out the same id.
+-- This script only makes sure next_val is past every existing id, e.g. for rows inserted through auto_increment.
+
+UPDATE hibernate_sequence
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM recipe));
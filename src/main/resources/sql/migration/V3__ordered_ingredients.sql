@@ -0,0 +1,26 @@
+use recipe;
+
+-- Ingredients get an explicit position, (id, ingredient_order) identifies a single ingredient of a recipe so that
+-- updates can rewrite, add or drop positions one by one instead of deleting and reinserting the whole list.
+-- The rows had no order of their own, only the hidden row id InnoDB clusters a table without primary key by, which
+-- grows in the order the rows were inserted. Adding an auto increment column numbers the existing rows while the
+-- table is rebuilt in that order, and positions are then taken from that number, never from the order in which a
+-- query happens to return the rows.
+
+ALTER TABLE ingredients_list ADD COLUMN insertion_order bigint(20) NOT NULL AUTO_INCREMENT PRIMARY KEY;
+
+CREATE TABLE ingredients_list_ordered (
+    id bigint(20) NOT NULL,
+    ingredient_order int NOT NULL,
+    ingredients_list varchar(255) DEFAULT NULL,
+    PRIMARY KEY (id, ingredient_order),
+    FOREIGN KEY (id) REFERENCES recipe(id)
+);
+
+INSERT INTO ingredients_list_ordered (id, ingredient_order, ingredients_list)
+SELECT id, ROW_NUMBER() OVER (PARTITION BY id ORDER BY insertion_order) - 1, ingredients_list
+FROM ingredients_list;
+
+DROP TABLE ingredients_list;
+
+RENAME TABLE ingredients_list_ordered TO ingredients_list;
@@ -0,0 +1,39 @@
+use recipe;
+
+-- Ingredient names move to a dictionary table and recipes refer to them by id, so each name is stored once instead of
+-- once per recipe. Names are compared byte by byte, "Tomato" and "tomato" stay two entries as they were before. The
+-- collation is a NO PAD one, so trailing spaces count as well and "tomato " does not collide with "tomato": the
+-- dictionary looks names up exactly as they were sent.
+-- Dictionary ids are taken from hibernate_sequence like recipe ids, next_val is moved past the ids assigned here.
+
+CREATE TABLE ingredient (
+    id bigint(20) primary key,
+    name varchar(255) COLLATE utf8mb4_0900_bin not null unique
+);
+
+SET @first_ingredient_id = (SELECT next_val FROM hibernate_sequence);
+
+INSERT INTO ingredient (id, name)
+SELECT @first_ingredient_id + ROW_NUMBER() OVER (ORDER BY name) - 1, name
+FROM (SELECT DISTINCT ingredients_list COLLATE utf8mb4_0900_bin AS name
+      FROM ingredients_list
+      WHERE ingredients_list IS NOT NULL) names;
+
+UPDATE hibernate_sequence
+SET next_val = next_val + (SELECT COUNT(*) FROM ingredient);
+
+CREATE TABLE recipe_ingredient (
+    recipe_id bigint(20) NOT NULL,
+    ingredient_order int NOT NULL,
+    ingredient_id bigint(20) NOT NULL,
+    PRIMARY KEY (recipe_id, ingredient_order),
+    FOREIGN KEY (recipe_id) REFERENCES recipe(id),
+    FOREIGN KEY (ingredient_id) REFERENCES ingredient(id)
+);
+
+INSERT INTO recipe_ingredient (recipe_id, ingredient_order, ingredient_id)
+SELECT list.id, list.ingredient_order, ingredient.id
+FROM ingredients_list list
+JOIN ingredient ON ingredient.name = list.ingredients_list COLLATE utf8mb4_0900_bin;
+
+DROP TABLE ingredients_list;
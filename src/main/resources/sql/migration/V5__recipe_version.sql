@@ -0,0 +1,5 @@
+use recipe;
+
+-- Every write on a recipe increments its version, which tells clients whether the copy they hold is still current.
+
+ALTER TABLE recipe ADD COLUMN version bigint(20) NOT NULL DEFAULT 0;
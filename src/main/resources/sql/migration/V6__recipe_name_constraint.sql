@@ -0,0 +1,6 @@
+use recipe;
+
+-- The unique key on the recipe name gets a name of its own, so that a duplicate name can be told apart from any other
+-- constraint violation. Inline, MySQL named it after the column.
+
+ALTER TABLE recipe RENAME INDEX name TO uk_recipe_name;
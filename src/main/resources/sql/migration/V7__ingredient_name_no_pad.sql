@@ -0,0 +1,7 @@
+use recipe;
+
+-- utf8mb4_bin ignores trailing spaces, so "tomato " collided with "tomato" on the unique key while the dictionary
+-- looked it up as a different name, and every recipe listing it failed. utf8mb4_0900_bin compares them as they are.
+-- Databases migrated with an earlier V4 already merged such names into one entry, that entry is kept.
+
+ALTER TABLE ingredient MODIFY name varchar(255) COLLATE utf8mb4_0900_bin not null;
@@ -0,0 +1,103 @@
+package com.jgb.recipesystem.concurrent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * JdbcPinningGuardTest
+ * <br>
+ * <code>com.jgb.recipesystem.concurrent.JdbcPinningGuardTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class JdbcPinningGuardTest {
+
+    private DataSource pool;
+    private DataSource guardedDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        guardedDataSource = new JdbcPinningGuard(1, Duration.ofMillis(50)).wrap(pool);
+    }
+
+    @Test
+    void getConnection_whenEveryPermitIsInUse_failsAfterTheTimeout() throws Exception {
+        //given
+        guardedDataSource.getConnection();
+        //when
+        //then
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnAnotherThread());
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_whenThreadAlreadyHoldsAConnection_doesNotWaitForAnotherPermit() throws Exception {
+        //given
+        Connection connection = guardedDataSource.getConnection();
+        //when
+        Connection nestedConnection = guardedDataSource.getConnection();
+        //then
+        assertNotNull(nestedConnection);
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnAnotherThread());
+        nestedConnection.close();
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnAnotherThread());
+        connection.close();
+        assertInstanceOf(Connection.class, connectOnAnotherThread());
+    }
+
+    @Test
+    void getConnection_whenConnectionIsClosed_itsPermitIsGivenBackOnce() throws Exception {
+        //given
+        Connection connection = guardedDataSource.getConnection();
+        connection.close();
+        connection.close();
+        //when
+        Connection nextConnection = guardedDataSource.getConnection();
+        //then
+        assertNotNull(nextConnection);
+        assertInstanceOf(SQLTransientConnectionException.class, connectOnAnotherThread());
+    }
+
+    @Test
+    void getConnection_whenPoolFails_permitIsGivenBack() throws SQLException {
+        //given
+        when(pool.getConnection()).thenThrow(new SQLException("pool is down"))
+                .thenAnswer(invocation -> mock(Connection.class));
+        assertThrows(SQLException.class, () -> guardedDataSource.getConnection());
+        //when
+        Connection connection = guardedDataSource.getConnection();
+        //then
+        assertNotNull(connection);
+    }
+
+    private Object connectOnAnotherThread() throws InterruptedException {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return guardedDataSource.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            return e.getCause().getCause();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.jgb.recipesystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import com.jgb.recipesystem.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * ReactiveRecipeControllerTest
+ * <br>
+ * <code>com.jgb.recipesystem.controller.ReactiveRecipeControllerTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+@SpringBootTest
+public class ReactiveRecipeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() throws DuplicateEntryException {
+        recipeService.createRecipe(getValidRecipeDTO("margherita"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenRecipeExists_returnsRecipeObject() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/reactive/get-recipe/margherita")).andReturn())).andReturn();
+        //then
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        RecipeDTO recipeDTO = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), RecipeDTO.class);
+        assertEquals(List.of("pizza crust", "mozzarella", "tomato"), recipeDTO.getIngredients());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenRecipeDoesNotExist_returnsBadRequestStatusCode() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/reactive/get-recipe/lasagna")).andReturn())).andReturn();
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST.value(), mvcResult.getResponse().getStatus());
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("Could not find recipe with name lasagna"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN", "USER" })
+    void createRecipe_whenRecipeIsNotValid_returnsBadRequestStatusCodeWithoutCallingTheService() throws Exception {
+        //given
+        RecipeDTO recipeDTO = getValidRecipeDTO("four_cheese_pizza");
+        recipeDTO.setServings(-1);
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/reactive/create-recipe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(recipeDTO))).andReturn();
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST.value(), mvcResult.getResponse().getStatus());
+        assertTrue(mvcResult.getResponse().getContentAsString().contains("greater_than_zero"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN", "USER" })
+    void createRecipe_whenRecipeDoesNotExistYet_returnsNoContentAndRecipeCanBeRead() throws Exception {
+        //given
+        RecipeDTO recipeDTO = getValidRecipeDTO("four_cheese_pizza");
+        //when
+        MvcResult mvcResult = mockMvc.perform(asyncDispatch(mockMvc.perform(post("/reactive/create-recipe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(recipeDTO))).andReturn())).andReturn();
+        //then
+        assertEquals(HttpStatus.NO_CONTENT.value(), mvcResult.getResponse().getStatus());
+        assertEquals("four_cheese_pizza", recipeService.getRecipe("four_cheese_pizza").getName());
+    }
+
+    private RecipeDTO getValidRecipeDTO(String name) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(4);
+        recipeDTO.setIngredients(List.of("pizza crust", "mozzarella", "tomato"));
+        recipeDTO.setCookingInstructions("put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C");
+        return recipeDTO;
+    }
+}
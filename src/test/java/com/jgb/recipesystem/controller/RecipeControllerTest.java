@@ -2,30 +2,51 @@ package com.jgb.recipesystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jgb.recipesystem.RecipeSystemApplication;
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.cache.RecipeResponseCache;
+import com.jgb.recipesystem.database.entity.Ingredient;
 import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeIngredientRow;
 import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.mapper.RecipeMapper;
+import com.jgb.recipesystem.model.RecipeBatchDTO;
 import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import com.jgb.recipesystem.service.IngredientDictionary;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -45,23 +66,37 @@ public class RecipeControllerTest {
     @MockBean
     private RecipeRepository recipeRepository;
 
+    @MockBean
+    private IngredientDictionary ingredientDictionary;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private RecipeResponseCache recipeResponseCache;
+
     @BeforeEach
     void setUp() {
     }
 
+    @AfterEach
+    void tearDown() {
+        recipeCache.invalidateAll();
+        recipeResponseCache.invalidateAll();
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = { "ADMIN","USER" })
     void createRecipe_whenRecipeDoesNotExistYet_returnsNoContent() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(getRecipeEntity());
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.empty());
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenReturn(getRecipeEntity());
         String json = objectMapper.writeValueAsString(recipeDTO);
         //when
         MvcResult mvcResult =  mockMvc.perform(post("/create-recipe")
@@ -76,8 +111,8 @@ public class RecipeControllerTest {
     void createRecipe_whenRecipeWithSameNameExists_returnsBadRequestStatusCode() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(getRecipeEntity());
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.of(getRecipeEntity()));
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException(), "PUBLIC.UK_RECIPE_NAME_INDEX_8")));
         String json = objectMapper.writeValueAsString(recipeDTO);
         //when
         MvcResult mvcResult =  mockMvc.perform(post("/create-recipe")
@@ -92,7 +127,7 @@ public class RecipeControllerTest {
     void getRecipe_whenRecipeDoesNotExistYet_returnsBadRequestStatusCode() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.empty());
+        when(recipeRepository.readByName(recipeDTO.getName())).thenReturn(Optional.empty());
         //when
         MvcResult mvcResult =  mockMvc.perform(get("/get-recipe/{name}", recipeDTO.getName())).andReturn();
         //then
@@ -104,19 +139,114 @@ public class RecipeControllerTest {
     void getRecipe_whenRecipeExists_returnsRecipeObject() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.of(getRecipeEntity()));
+        when(recipeRepository.readByName(recipeDTO.getName())).thenReturn(Optional.of(versioned(getRecipeEntity())));
         //When
         MvcResult mvcResult = mockMvc.perform(get("/get-recipe/{name}", recipeDTO.getName())).andReturn();
         //then
         assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenRecipeExists_returnsVersionAsETag() throws Exception {
+        //given
+        Recipe recipe = getRecipeEntity();
+        recipe.setVersion(3);
+        when(recipeRepository.findVersionByName(recipe.getName())).thenReturn(Optional.of(new RecipeVersion(1L, 3L)));
+        when(recipeRepository.readByName(recipe.getName())).thenReturn(Optional.of(versioned(recipe)));
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/get-recipe/{name}", recipe.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\"")).andReturn();
+        //then
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        assertEquals(List.of("\"1-3\""), mvcResult.getResponse().getHeaders(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenIfNoneMatchHoldsCurrentVersion_returnsNotModifiedWithoutLoadingRecipe() throws Exception {
+        //given
+        String recipeName = getValidRecipeDTO().getName();
+        when(recipeRepository.findVersionByName(recipeName)).thenReturn(Optional.of(new RecipeVersion(1L, 3L)));
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/get-recipe/{name}", recipeName)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\"")).andReturn();
+        //then
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), mvcResult.getResponse().getStatus());
+        assertEquals("", mvcResult.getResponse().getContentAsString());
+        verify(recipeRepository, never()).readByName(any());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenClientAcceptsGzip_returnsCachedGzipBody() throws Exception {
+        //given
+        Recipe recipe = getRecipeEntity();
+        recipe.setCookingInstructions("stir and bake. ".repeat(100));
+        when(recipeRepository.readByName(recipe.getName())).thenReturn(Optional.of(versioned(recipe)));
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/get-recipe/{name}", recipe.getName())
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8")).andReturn();
+        //then
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        assertEquals("gzip", mvcResult.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"1-0\"", mvcResult.getResponse().getHeader(HttpHeaders.ETAG));
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+            assertEquals(RecipeMapper.MAPPER.toRecipeDTO(recipe), objectMapper.readValue(body, RecipeDTO.class));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenRecipeIsAtAnotherVersion_cachedBodyIsRenderedAgain() throws Exception {
+        //given
+        Recipe recipe = getRecipeEntity();
+        when(recipeRepository.readByName(recipe.getName())).thenReturn(Optional.of(versioned(recipe)));
+        mockMvc.perform(get("/get-recipe/{name}", recipe.getName())).andReturn();
+        recipe.setVersion(1);
+        recipe.setServings(6);
+        when(recipeRepository.readByName(recipe.getName())).thenReturn(Optional.of(versioned(recipe)));
+        recipeCache.invalidateAll();
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/get-recipe/{name}", recipe.getName())).andReturn();
+        //then
+        assertEquals("\"1-1\"", mvcResult.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(6, objectMapper.readValue(mvcResult.getResponse().getContentAsString(), RecipeDTO.class).getServings());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipes_whenSomeRecipesExist_returnsFoundAndMissingNames() throws Exception {
+        //given
+        when(recipeRepository.readAllByNameIn(List.of("four_cheese_pizza", "margherita")))
+                .thenReturn(List.of(versioned(getRecipeEntity())));
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/get-recipes").contentType(MediaType.APPLICATION_JSON)
+                .content("[\"four_cheese_pizza\", \"margherita\", \"four_cheese_pizza\"]")).andReturn();
+        //then
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        RecipeBatchDTO batch = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), RecipeBatchDTO.class);
+        assertEquals(1, batch.getRecipes().size());
+        assertEquals(List.of("margherita"), batch.getMissing());
+        verify(recipeRepository, never()).readByName(any());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipes_whenNoNameIsGiven_returnsBadRequestStatusCode() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/get-recipes").contentType(MediaType.APPLICATION_JSON)
+                .content("[]")).andReturn();
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST.value(), mvcResult.getResponse().getStatus());
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = { "ADMIN","USER" })
     void updateRecipe_whenRecipeDoesNotExistYet_returnsBadRequestStatusCode() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.empty());
+        when(recipeRepository.findIngredientRowsByName(recipeDTO.getName())).thenReturn(List.of());
         String json = objectMapper.writeValueAsString(recipeDTO);
         //when
         MvcResult mvcResult =  mockMvc.perform(post("/update-recipe")
@@ -130,8 +260,7 @@ public class RecipeControllerTest {
     void updateRecipe_whenRecipeWithSameNameExists_returnsNoContent() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(getRecipeEntity());
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.empty());
+        when(recipeRepository.findIngredientRowsByName(recipeDTO.getName())).thenReturn(List.of());
         String json = objectMapper.writeValueAsString(recipeDTO);
         //when
         MvcResult mvcResult =  mockMvc.perform(post("/update-recipe")
@@ -145,7 +274,7 @@ public class RecipeControllerTest {
     void deleteRecipe_whenRecipeDoesNotExist_returnsBadRequestStatusCode() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.empty());
+        when(recipeRepository.deleteRecipeByName(recipeDTO.getName())).thenReturn(0);
         //when
         MvcResult mvcResult =  mockMvc.perform(delete("/delete-recipe/{name}", recipeDTO.getName())).andReturn();
         //then
@@ -157,14 +286,117 @@ public class RecipeControllerTest {
     void deleteRecipe_whenRecipeExists_deletesRecipeAndReturnsNoContent() throws Exception {
         //given
         RecipeDTO recipeDTO = getValidRecipeDTO();
-        when(recipeRepository.findOneByName(recipeDTO.getName())).thenReturn(Optional.of(getRecipeEntity()));
-        doNothing().when(recipeRepository).deleteByName(anyString());
+        when(recipeRepository.deleteRecipeByName(recipeDTO.getName())).thenReturn(1);
         //When
         MvcResult mvcResult = mockMvc.perform(delete("/delete-recipe/{name}", recipeDTO.getName())).andReturn();
         //then
         assertEquals(HttpStatus.NO_CONTENT.value(), mvcResult.getResponse().getStatus());
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN","USER" })
+    void deleteRecipe_whenIfMatchHoldsStaleVersion_returnsPreconditionFailed() throws Exception {
+        //given
+        String recipeName = getValidRecipeDTO().getName();
+        when(recipeRepository.deleteRecipeByNameAndVersion(recipeName, 1L, 2L)).thenReturn(0);
+        when(recipeRepository.findVersionByName(recipeName)).thenReturn(Optional.of(new RecipeVersion(1L, 3L)));
+        //when
+        MvcResult mvcResult = mockMvc.perform(delete("/delete-recipe/{name}", recipeName)
+                .header(HttpHeaders.IF_MATCH, "\"1-2\"")).andReturn();
+        //then
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), mvcResult.getResponse().getStatus());
+        verify(recipeRepository, never()).deleteRecipeByName(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN","USER" })
+    void updateRecipe_whenIfMatchIsNotOneOfOurETags_returnsPreconditionFailed() throws Exception {
+        //given
+        String json = objectMapper.writeValueAsString(getValidRecipeDTO());
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/update-recipe").header(HttpHeaders.IF_MATCH, "W/\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON).content(json)).andReturn();
+        //then
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), mvcResult.getResponse().getStatus());
+        verify(recipeRepository, never()).findIngredientRowsByName(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN","USER" })
+    void updateRecipe_whenAnotherWriterUpdatesFirstWithoutIfMatch_lastWriteWinsAndReturnsNoContent() throws Exception {
+        //given
+        RecipeDTO recipeDTO = getValidRecipeDTO();
+        Recipe concurrentlyUpdated = getRecipeEntity();
+        concurrentlyUpdated.setVersion(1);
+        when(recipeRepository.findIngredientRowsByName(recipeDTO.getName()))
+                .thenReturn(ingredientRows(getRecipeEntity()), ingredientRows(concurrentlyUpdated));
+        when(recipeRepository.updateRecipe(eq(1L), eq(0L), anyBoolean(), any(), any())).thenReturn(0);
+        when(recipeRepository.updateRecipe(eq(1L), eq(1L), anyBoolean(), any(), any())).thenReturn(1);
+        when(recipeRepository.lockVersionByName(recipeDTO.getName())).thenReturn(Optional.of(1L));
+        String json = objectMapper.writeValueAsString(recipeDTO);
+        //when
+        MvcResult mvcResult = mockMvc.perform(post("/update-recipe")
+                .contentType(MediaType.APPLICATION_JSON).content(json)).andReturn();
+        //then
+        assertEquals(HttpStatus.NO_CONTENT.value(), mvcResult.getResponse().getStatus());
+        assertEquals("\"1-2\"", mvcResult.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void listRecipes_whenRecipesExist_returnsPageOfRecipes() throws Exception {
+        //given
+        when(recipeRepository.findIdsAfterName(any(), any(), any(), any(), any())).thenReturn(List.of(1L));
+        when(recipeRepository.readAllByIdIn(List.of(1L))).thenReturn(List.of(versioned(getRecipeEntity())));
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/list-recipes").param("vegetarian", "true").param("size", "10")).andReturn();
+        //then
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        RecipePageDTO page = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), RecipePageDTO.class);
+        assertEquals(1, page.getRecipes().size());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void listRecipes_whenCursorIsNotValid_returnsBadRequestStatusCode() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/list-recipes").param("order", "ID").param("cursor", "bm90LWEtY3Vyc29y")).andReturn();
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST.value(), mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void searchRecipesByIngredients_whenNoIngredientIsIncluded_returnsBadRequestStatusCode() throws Exception {
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/search-recipes/ingredients").param("exclude", "basil")).andReturn();
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST.value(), mvcResult.getResponse().getStatus());
+    }
+
+    private List<RecipeIngredientRow> ingredientRows(Recipe recipe) {
+        return recipe.getIngredients().stream().map(ingredient -> (RecipeIngredientRow) new RecipeIngredientRow() {
+            @Override
+            public Long getId() {
+                return recipe.getId();
+            }
+
+            @Override
+            public Long getVersion() {
+                return recipe.getVersion();
+            }
+
+            @Override
+            public Long getIngredientId() {
+                return ingredient.getId();
+            }
+        }).toList();
+    }
+
+    private VersionedRecipe versioned(Recipe recipe) {
+        return new VersionedRecipe(RecipeMapper.MAPPER.toRecipeDTO(recipe), new RecipeVersion(recipe.getId(), recipe.getVersion()));
+    }
+
     private Recipe getRecipeEntity() {
         Recipe recipe = new Recipe();
         recipe.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
@@ -172,7 +404,8 @@ public class RecipeControllerTest {
         recipe.setName("four_cheese_pizza");
         recipe.setVegetarian(true);
         recipe.setServings(1);
-        recipe.setIngredients(List.of("pizza crust", "mozzarella", "fontina", "parmigiano-reggiano", "gorgonzola"));
+        recipe.setIngredients(Stream.of("pizza crust", "mozzarella", "fontina", "parmigiano-reggiano", "gorgonzola")
+                .map(Ingredient::new).toList());
         recipe.setCookingInstructions("put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C");
         return recipe;
     }
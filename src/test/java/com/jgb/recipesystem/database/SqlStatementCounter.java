@@ -0,0 +1,86 @@
+package com.jgb.recipesystem.database;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SqlStatementCounter
+ * <br>
+ * <code>com.jgb.recipesystem.database.SqlStatementCounter</code>
+ * <br>
+ * Wraps the application data source and counts the statements sent to the database. A JDBC batch counts as a
+ * single statement, since it is sent in a single round trip.
+ * <br>
+ * Import it in a test with <code>@Import(SqlStatementCounter.class)</code>, call {@link #reset()} before the
+ * operation under test and read {@link #count()} afterwards.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class SqlStatementCounter implements BeanPostProcessor {
+
+    private final AtomicInteger statements = new AtomicInteger();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, this::wrapConnection);
+        }
+        return bean;
+    }
+
+    /**
+     * Starts counting again from zero
+     */
+    public void reset() {
+        statements.set(0);
+    }
+
+    /**
+     * @return number of statements executed since the last {@link #reset()}
+     */
+    public int count() {
+        return statements.get();
+    }
+
+    private Object wrapConnection(Method method, Object result) {
+        return result instanceof Connection connection
+                ? proxy(Connection.class, connection, this::wrapStatement)
+                : result;
+    }
+
+    private Object wrapStatement(Method method, Object result) {
+        if (result instanceof Statement statement) {
+            return proxy(method.getReturnType(), statement, (statementMethod, statementResult) -> statementResult);
+        }
+        return result;
+    }
+
+    private <T> T proxy(Class<T> type, Object target, ResultWrapper resultWrapper) {
+        boolean statement = Statement.class.isAssignableFrom(type);
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (statement && method.getName().startsWith("execute")) {
+                statements.incrementAndGet();
+            }
+            try {
+                return resultWrapper.wrap(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result);
+    }
+}
@@ -0,0 +1,170 @@
+package com.jgb.recipesystem.database.routing;
+
+import com.jgb.recipesystem.configuration.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ReplicaRoutingDataSourceTest
+ * <br>
+ * <code>com.jgb.recipesystem.database.routing.ReplicaRoutingDataSourceTest</code>
+ * <br>
+ * Routes against a primary and two replicas that are separate in-memory databases, each of which knows its own name.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String WHO_AM_I = "select name from node";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        pool("primary", "primary");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void getConnection_whenTransactionIsReadOnly_replicasTakeTurns() {
+        //given
+        DataSource dataSource = routing(ReplicaProperties.Selection.ROUND_ROBIN, pool("replica-1", "replica1"),
+                pool("replica-2", "replica2"));
+        //when
+        List<String> nodes = List.of(read(dataSource, true), read(dataSource, true), read(dataSource, true));
+        //then
+        assertEquals(List.of("replica1", "replica2", "replica1"), nodes);
+    }
+
+    @Test
+    void getConnection_whenTransactionWritesOrThereIsNone_primaryIsUsed() {
+        //given
+        DataSource dataSource = routing(ReplicaProperties.Selection.ROUND_ROBIN, pool("replica-1", "replica1"));
+        //when
+        String inWriteTransaction = read(dataSource, false);
+        String outsideTransaction = new JdbcTemplate(dataSource).queryForObject(WHO_AM_I, String.class);
+        String readFromPrimary = ReplicaRoutingDataSource.readFromPrimary(() -> read(dataSource, true));
+        //then
+        assertEquals("primary", inWriteTransaction);
+        assertEquals("primary", outsideTransaction);
+        assertEquals("primary", readFromPrimary);
+    }
+
+    @Test
+    void isReadingFromReplica_isOnlyTrueInsideTransactionsHandedAReplicaConnection() {
+        //given
+        DataSource dataSource = routing(ReplicaProperties.Selection.ROUND_ROBIN, pool("replica-1", "replica1"));
+        //when
+        boolean replicaRead = readingFromReplica(dataSource, true);
+        boolean writeTransaction = readingFromReplica(dataSource, false);
+        boolean primaryRead = ReplicaRoutingDataSource.readFromPrimary(() -> readingFromReplica(dataSource, true));
+        //then
+        assertTrue(replicaRead);
+        assertFalse(writeTransaction);
+        assertFalse(primaryRead);
+        assertFalse(ReplicaRoutingDataSource.isReadingFromReplica());
+    }
+
+    @Test
+    void getConnection_whenLeastLoaded_replicaWithFewestConnectionsInUseIsPicked() throws SQLException {
+        //given
+        HikariDataSource busyReplica = pool("replica-1", "replica1");
+        DataSource dataSource = routing(ReplicaProperties.Selection.LEAST_LOADED, busyReplica, pool("replica-2", "replica2"));
+        try (Connection ignored = busyReplica.getConnection()) {
+            //when
+            String node = read(dataSource, true);
+            //then
+            assertEquals("replica2", node);
+        }
+    }
+
+    @Test
+    void getConnection_whenReplicaIsDown_readFailsOverAndReplicaIsTakenOut() {
+        //given
+        DataSource dataSource = routing(ReplicaProperties.Selection.ROUND_ROBIN, unreachablePool("replica-1"),
+                pool("replica-2", "replica2"));
+        //when
+        List<String> nodes = List.of(read(dataSource, true), read(dataSource, true));
+        //then
+        assertEquals(List.of("replica2", "replica2"), nodes);
+        assertEquals(List.of("replica-2"), routingDataSource.healthyReplicas());
+    }
+
+    @Test
+    void checkHealth_whenNoReplicaIsHealthy_readsGoToPrimary() {
+        //given
+        DataSource dataSource = routing(ReplicaProperties.Selection.ROUND_ROBIN, unreachablePool("replica-1"));
+        //when
+        routingDataSource.checkHealth(1);
+        //then
+        assertEquals(List.of(), routingDataSource.healthyReplicas());
+        assertEquals("primary", read(dataSource, true));
+    }
+
+    private DataSource routing(ReplicaProperties.Selection selection, HikariDataSource... replicas) {
+        routingDataSource = new ReplicaRoutingDataSource(pools.get(0), List.of(replicas), selection);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private String read(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject(WHO_AM_I, String.class));
+    }
+
+    private boolean readingFromReplica(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> {
+            new JdbcTemplate(dataSource).queryForObject(WHO_AM_I, String.class);
+            return ReplicaRoutingDataSource.isReadingFromReplica();
+        });
+    }
+
+    private HikariDataSource pool(String poolName, String database) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(poolName);
+        pool.setJdbcUrl("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(2);
+        new JdbcTemplate(pool).execute("create table if not exists node (name varchar(20))");
+        new JdbcTemplate(pool).execute("delete from node");
+        new JdbcTemplate(pool).update("insert into node values (?)", database);
+        pools.add(pool);
+        return pool;
+    }
+
+    private HikariDataSource unreachablePool(String poolName) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(poolName);
+        pool.setJdbcUrl("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        pool.setConnectionTimeout(250);
+        pool.setInitializationFailTimeout(-1);
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,117 @@
+package com.jgb.recipesystem.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.configuration.PayloadLoggingProperties;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RequestPayloadLoggerTest
+ * <br>
+ * <code>com.jgb.recipesystem.logging.RequestPayloadLoggerTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class RequestPayloadLoggerTest {
+
+    private final Logger payloadLogger = (Logger) LoggerFactory.getLogger(RequestPayloadLogger.LOGGER_NAME);
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        payloadLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        payloadLogger.detachAppender(appender);
+    }
+
+    @Test
+    void log_whenEndpointHasNoSettings_defaultsApplyAndNothingIsLogged() {
+        //given
+        RequestPayloadLogger requestPayloadLogger = new RequestPayloadLogger(new ObjectMapper(),
+                new PayloadLoggingProperties());
+        //when
+        requestPayloadLogger.log("create-recipe", buildRecipeDTO("margherita"));
+        //then
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void log_whenAllPayloadsAreLogged_payloadIsWrittenAsJson() {
+        //given
+        RequestPayloadLogger requestPayloadLogger = new RequestPayloadLogger(new ObjectMapper(),
+                properties("create-recipe", PayloadLoggingProperties.Mode.ALL, 0, 512));
+        //when
+        requestPayloadLogger.log("create-recipe", buildRecipeDTO("margherita"));
+        //then
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("endpoint=create-recipe truncated=false payload={\"name\":\"margherita\""));
+    }
+
+    @Test
+    void log_whenPayloadIsLongerThanMaxLength_payloadIsCutOff() {
+        //given
+        RequestPayloadLogger requestPayloadLogger = new RequestPayloadLogger(new ObjectMapper(),
+                properties("create-recipe", PayloadLoggingProperties.Mode.ALL, 0, 20));
+        //when
+        requestPayloadLogger.log("create-recipe", buildRecipeDTO("margherita"));
+        //then
+        assertEquals("endpoint=create-recipe truncated=true payload={\"name\":\"margherita\"",
+                appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void log_whenPayloadsAreSampled_onlyTheSampleIsLogged() {
+        //given
+        RequestPayloadLogger neverSampled = new RequestPayloadLogger(new ObjectMapper(),
+                properties("update-recipe", PayloadLoggingProperties.Mode.SAMPLED, 0, 512));
+        RequestPayloadLogger alwaysSampled = new RequestPayloadLogger(new ObjectMapper(),
+                properties("update-recipe", PayloadLoggingProperties.Mode.SAMPLED, 1, 512));
+        //when
+        neverSampled.log("update-recipe", buildRecipeDTO("margherita"));
+        alwaysSampled.log("update-recipe", buildRecipeDTO("caprese"));
+        alwaysSampled.log("create-recipe", buildRecipeDTO("caprese"));
+        //then
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("\"name\":\"caprese\""));
+    }
+
+    private PayloadLoggingProperties properties(String endpoint, PayloadLoggingProperties.Mode mode,
+                                                double sampleRate, int maxLength) {
+        PayloadLoggingProperties.Endpoint settings = new PayloadLoggingProperties.Endpoint();
+        settings.setMode(mode);
+        settings.setSampleRate(sampleRate);
+        settings.setMaxLength(maxLength);
+        PayloadLoggingProperties properties = new PayloadLoggingProperties();
+        properties.getEndpoints().put(endpoint, settings);
+        return properties;
+    }
+
+    private RecipeDTO buildRecipeDTO(String name) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(4);
+        recipeDTO.setIngredients(List.of("pizza crust", "mozzarella", "tomato"));
+        recipeDTO.setCookingInstructions("put all the ingredients on top of each other and cook in the oven");
+        return recipeDTO;
+    }
+}
@@ -0,0 +1,133 @@
+package com.jgb.recipesystem.metrics;
+
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import com.jgb.recipesystem.service.RecipeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * RecipeMetricsTest
+ * <br>
+ * <code>com.jgb.recipesystem.metrics.RecipeMetricsTest</code>
+ * <br>
+ * Serves requests against an in-memory database and checks the meters they leave behind.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class RecipeMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() throws DuplicateEntryException {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName("margherita");
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(2);
+        recipeDTO.setIngredients(List.of("tomato", "mozzarella"));
+        recipeDTO.setCookingInstructions("Bake it");
+        recipeService.createRecipe(recipeDTO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getRecipe_whenServedFromDatabaseAndThenFromCache_recordsStatementsPerRequest() throws Exception {
+        //given
+        String uri = "/get-recipe/{name}";
+        double requestsBefore = statementsPerRequest(uri).count();
+        double statementsBefore = statementsPerRequest(uri).totalAmount();
+        double cacheHitsBefore = recipeCacheHits();
+        //when
+        mockMvc.perform(get(uri, "margherita")).andReturn();
+        mockMvc.perform(get(uri, "margherita")).andReturn();
+        //then
+        assertEquals(2, statementsPerRequest(uri).count() - requestsBefore);
+        assertTrue(statementsPerRequest(uri).totalAmount() - statementsBefore > 0);
+        assertEquals(1, recipeCacheHits() - cacheHitsBefore);
+        assertNotNull(meterRegistry.get("recipe.service").tag("method", "getVersionedRecipe").timer());
+        assertNotNull(meterRegistry.get("spring.data.repository.invocations").tag("method", "readByName").timer());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void prometheus_whenScraped_exposesApplicationMeters() throws Exception {
+        //given
+        mockMvc.perform(get("/get-recipe/{name}", "margherita")).andReturn();
+        //when
+        MvcResult mvcResult = mockMvc.perform(get("/actuator/prometheus")).andReturn();
+        //then
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        String scrape = mvcResult.getResponse().getContentAsString();
+        assertTrue(scrape.contains("http_server_requests_sql_statements_count"));
+        assertTrue(scrape.contains("recipe_service_seconds_count"));
+        assertTrue(scrape.contains("sql_statements_total"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds"));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"ingredient-ids\""));
+    }
+
+    private DistributionSummary statementsPerRequest(String uri) {
+        return DistributionSummary.builder("http.server.requests.sql").tags("method", "GET", "uri", uri)
+                .register(meterRegistry);
+    }
+
+    private double recipeCacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "recipes").tag("result", "hit").functionCounter().count();
+    }
+}
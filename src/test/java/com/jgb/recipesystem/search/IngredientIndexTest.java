@@ -0,0 +1,131 @@
+package com.jgb.recipesystem.search;
+
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+/**
+ * IngredientIndexTest
+ * <br>
+ * <code>com.jgb.recipesystem.search.IngredientIndexTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class IngredientIndexTest {
+
+    private IngredientIndex ingredientIndex;
+
+    @BeforeEach
+    void setUp() {
+        ingredientIndex = new IngredientIndex();
+        ingredientIndex.add(1L, buildRecipeDTO("four_cheese_pizza", "pizza crust", "mozzarella", "gorgonzola"));
+        ingredientIndex.add(2L, buildRecipeDTO("margherita", "pizza crust", "Mozzarella ", "tomato", "basil"));
+        ingredientIndex.add(3L, buildRecipeDTO("caprese", "mozzarella", "tomato", "basil"));
+    }
+
+    @Test
+    void search_whenSeveralIngredientsAreIncluded_returnsRecipesContainingAllOfThem() {
+        //when
+        List<String> result = ingredientIndex.search(List.of("tomato", "mozzarella"), List.of(), 10);
+        //then
+        assertEquals(List.of("margherita", "caprese"), result);
+    }
+
+    @Test
+    void search_whenIngredientIsExcluded_recipesContainingItAreFilteredOut() {
+        //when
+        List<String> result = ingredientIndex.search(List.of("MOZZARELLA"), List.of("basil"), 10);
+        //then
+        assertEquals(List.of("four_cheese_pizza"), result);
+    }
+
+    @Test
+    void search_whenIngredientIsUnknown_returnsNoRecipes() {
+        //when
+        List<String> result = ingredientIndex.search(List.of("mozzarella", "pineapple"), List.of(), 10);
+        //then
+        assertEquals(List.of(), result);
+    }
+
+    @Test
+    void add_whenRecipeIsUpdated_oldIngredientsAreNoLongerIndexed() {
+        //when
+        ingredientIndex.add(2L, buildRecipeDTO("margherita", "pizza crust", "mozzarella"));
+        //then
+        assertEquals(List.of("caprese"), ingredientIndex.search(List.of("tomato"), List.of(), 10));
+    }
+
+    @Test
+    void remove_whenRecipeIsDeleted_itIsNoLongerReturned() {
+        //when
+        ingredientIndex.remove("caprese");
+        //then
+        assertEquals(List.of("margherita"), ingredientIndex.search(List.of("basil"), List.of(), 10));
+    }
+
+    @Test
+    void add_whenRecipesArriveOutOfIdOrder_resultsStayInIdOrder() {
+        //when
+        ingredientIndex.add(7L, buildRecipeDTO("bruschetta", "tomato", "basil"));
+        ingredientIndex.add(5L, buildRecipeDTO("pesto", "basil"));
+        //then
+        assertEquals(List.of("margherita", "caprese", "pesto", "bruschetta"),
+                ingredientIndex.search(List.of("basil"), List.of(), 10));
+    }
+
+    @Test
+    void add_whenRecipeIdDoesNotFitInAnInt_recipeIsIndexedInIdOrder() {
+        //when
+        ingredientIndex.add(Integer.MAX_VALUE + 2L, buildRecipeDTO("panzanella", "bread", "tomato", "basil"));
+        ingredientIndex.add(Integer.MAX_VALUE + 1L, buildRecipeDTO("bruschetta", "bread", "tomato"));
+        //then
+        assertEquals(List.of("margherita", "caprese", "bruschetta", "panzanella"),
+                ingredientIndex.search(List.of("tomato"), List.of(), 10));
+        assertEquals(List.of("panzanella"), ingredientIndex.search(List.of("bread", "basil"), List.of(), 10));
+    }
+
+    @Test
+    void add_whenWholeCatalogueIsLoadedInIdOrder_popularIngredientsDoNotSlowItDown() {
+        //given
+        int recipes = 200_000;
+        IngredientIndex catalogueIndex = new IngredientIndex();
+        //when
+        // every recipe shares "salt", the way the startup rebuild and file imports hit popular ingredients; copying
+        // the whole posting on every add made this quadratic, over 15 seconds instead of about one
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            for (int id = 1; id <= recipes; id++) {
+                catalogueIndex.add(id, buildRecipeDTO("recipe_" + id, "salt", "ingredient_" + id % 1000));
+            }
+        });
+        //then
+        assertEquals(List.of("recipe_1000", "recipe_2000"),
+                catalogueIndex.search(List.of("salt", "ingredient_0"), List.of(), 2));
+        catalogueIndex.remove("recipe_1000");
+        assertEquals(List.of("recipe_2000"), catalogueIndex.search(List.of("ingredient_0"), List.of(), 1));
+    }
+
+    @Test
+    void intersectAndSubtract_whenArraysOverlap_returnSortedResults() {
+        assertArrayEquals(new long[]{3, 9}, IngredientIndex.intersect(new long[]{1, 3, 9}, new long[]{2, 3, 4, 9, 12}));
+        assertArrayEquals(new long[]{1, 9}, IngredientIndex.subtract(new long[]{1, 3, 9}, new long[]{2, 3, 4, 12}));
+    }
+
+    private RecipeDTO buildRecipeDTO(String name, String... ingredients) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(1);
+        recipeDTO.setIngredients(List.of(ingredients));
+        recipeDTO.setCookingInstructions("put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C");
+        return recipeDTO;
+    }
+}
@@ -0,0 +1,106 @@
+package com.jgb.recipesystem.search;
+
+import com.jgb.recipesystem.configuration.RecipeSearchProperties;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RecipeTextIndexTest
+ * <br>
+ * <code>com.jgb.recipesystem.search.RecipeTextIndexTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class RecipeTextIndexTest {
+
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        recipeTextIndex = new RecipeTextIndex(new RecipeSearchProperties());
+        recipeTextIndex.add(1L, buildRecipeDTO("four_cheese_pizza", "put all the ingredients on the crust and bake in the oven for 15 minutes"));
+        recipeTextIndex.add(2L, buildRecipeDTO("caprese", "slice the tomato and the mozzarella, season with basil and olive oil"));
+        recipeTextIndex.add(3L, buildRecipeDTO("tomato_soup", "roast the tomato in the oven, blend the tomato with stock and simmer"));
+    }
+
+    @Test
+    void search_whenTermAppearsInSeveralRecipes_recipesAreRankedByScore() {
+        //when
+        RecipeTextIndex.Result result = recipeTextIndex.search("tomato", 0, 10);
+        //then
+        assertEquals(List.of("tomato_soup", "caprese"), names(result));
+        assertEquals(2, result.totalHits());
+    }
+
+    @Test
+    void search_whenQueryMatchesRecipeName_recipeIsReturned() {
+        //when
+        RecipeTextIndex.Result result = recipeTextIndex.search("Cheese pizza", 0, 10);
+        //then
+        assertEquals(List.of("four_cheese_pizza"), names(result));
+    }
+
+    @Test
+    void search_whenPageIsRequested_onlyThatPageIsReturned() {
+        //when
+        RecipeTextIndex.Result result = recipeTextIndex.search("oven tomato", 1, 1);
+        //then
+        assertEquals(1, result.hits().size());
+        assertEquals(3, result.totalHits());
+    }
+
+    @Test
+    void search_whenQueriesFollowEachOther_scoresOfThePreviousQueryDoNotCarryOver() {
+        //given
+        RecipeTextIndex.Result first = recipeTextIndex.search("tomato", 0, 10);
+        recipeTextIndex.search("oven tomato mozzarella", 0, 10);
+        //when
+        RecipeTextIndex.Result result = recipeTextIndex.search("tomato", 0, 10);
+        //then
+        assertEquals(first, result);
+    }
+
+    @Test
+    void add_whenRecipeIsUpdated_oldTextIsNoLongerIndexed() {
+        //when
+        recipeTextIndex.add(2L, buildRecipeDTO("caprese", "slice the mozzarella, season with basil"));
+        //then
+        assertEquals(List.of("tomato_soup"), names(recipeTextIndex.search("tomato", 0, 10)));
+    }
+
+    @Test
+    void remove_whenRecipeIsDeleted_itIsNoLongerReturned() {
+        //when
+        recipeTextIndex.remove("tomato_soup");
+        recipeTextIndex.add(4L, buildRecipeDTO("baked_potato", "bake the potato in the oven"));
+        //then
+        assertEquals(List.of("caprese"), names(recipeTextIndex.search("tomato", 0, 10)));
+        assertEquals(2, recipeTextIndex.search("oven", 0, 10).totalHits());
+    }
+
+    @Test
+    void tokenize_whenTextHasPunctuationAndStopWords_returnsLowerCaseTerms() {
+        assertEquals(List.of("four", "cheese", "pizza", "bake", "200c"), TextTokenizer.tokenize("four_cheese_pizza: Bake at 200C!"));
+    }
+
+    private List<String> names(RecipeTextIndex.Result result) {
+        return result.hits().stream().map(RecipeTextIndex.Hit::name).toList();
+    }
+
+    private RecipeDTO buildRecipeDTO(String name, String cookingInstructions) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(1);
+        recipeDTO.setIngredients(List.of("tomato"));
+        recipeDTO.setCookingInstructions(cookingInstructions);
+        return recipeDTO;
+    }
+}
@@ -0,0 +1,97 @@
+package com.jgb.recipesystem.security;
+
+import com.jgb.recipesystem.configuration.AuthenticationCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * CachingAuthenticationProviderTest
+ * <br>
+ * <code>com.jgb.recipesystem.security.CachingAuthenticationProviderTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+public class CachingAuthenticationProviderTest {
+
+    private AuthenticationProvider bcryptProvider;
+    private CachingAuthenticationProvider cachingProvider;
+
+    @BeforeEach
+    void setUp() {
+        bcryptProvider = mock(AuthenticationProvider.class);
+        when(bcryptProvider.authenticate(any())).thenAnswer(invocation -> {
+            Authentication authentication = invocation.getArgument(0);
+            if (!"password".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getName(), null,
+                    AuthorityUtils.createAuthorityList("ROLE_USER"));
+        });
+        cachingProvider = new CachingAuthenticationProvider(bcryptProvider, new AuthenticationCacheProperties());
+    }
+
+    @Test
+    void authenticate_whenSameCredentialsAreSentAgain_theyAreVerifiedOnlyOnce() {
+        //given
+        cachingProvider.authenticate(credentials("user", "password"));
+        //when
+        Authentication result = cachingProvider.authenticate(credentials("user", "password"));
+        //then
+        verify(bcryptProvider, times(1)).authenticate(any());
+        assertTrue(result.isAuthenticated());
+        assertEquals("user", result.getName());
+        assertNull(result.getCredentials());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_USER"), result.getAuthorities());
+    }
+
+    @Test
+    void authenticate_whenPasswordDiffersFromTheCachedOne_credentialsAreVerifiedAgain() {
+        //given
+        cachingProvider.authenticate(credentials("user", "password"));
+        //when
+        assertThrows(BadCredentialsException.class, () -> cachingProvider.authenticate(credentials("user", "wrong")));
+        //then
+        verify(bcryptProvider, times(2)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_whenVerificationFails_failureIsNotCached() {
+        //given
+        assertThrows(BadCredentialsException.class, () -> cachingProvider.authenticate(credentials("user", "wrong")));
+        //when
+        assertThrows(BadCredentialsException.class, () -> cachingProvider.authenticate(credentials("user", "wrong")));
+        //then
+        verify(bcryptProvider, times(2)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_whenCacheIsDisabled_everyRequestIsVerified() {
+        //given
+        AuthenticationCacheProperties properties = new AuthenticationCacheProperties();
+        properties.setEnabled(false);
+        cachingProvider = new CachingAuthenticationProvider(bcryptProvider, properties);
+        //when
+        cachingProvider.authenticate(credentials("user", "password"));
+        cachingProvider.authenticate(credentials("user", "password"));
+        //then
+        verify(bcryptProvider, times(2)).authenticate(any());
+    }
+
+    private Authentication credentials(String username, String password) {
+        return new UsernamePasswordAuthenticationToken(username, password);
+    }
+}
@@ -0,0 +1,157 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.InvalidCursorException;
+import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * ReactiveRecipeServiceTest
+ * <br>
+ * <code>com.jgb.recipesystem.service.ReactiveRecipeServiceTest</code>
+ * <br>
+ * Reads recipes over R2DBC from an in-memory database that the blocking services write to.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@SpringBootTest
+public class ReactiveRecipeServiceTest {
+
+    @Autowired
+    private ReactiveRecipeService reactiveRecipeService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() throws DuplicateEntryException {
+        recipeService.createRecipe(buildRecipeDTO("caprese", true, 2, List.of("tomato", "mozzarella", "basil")));
+        recipeService.createRecipe(buildRecipeDTO("carbonara", false, 4, List.of("spaghetti", "guanciale", "egg", "pecorino")));
+        recipeService.createRecipe(buildRecipeDTO("margherita", true, 4, List.of("pizza crust", "tomato", "mozzarella")));
+        recipeCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    void getRecipe_whenRecipeExists_returnsTheSameRecipeAsTheBlockingService() throws RecipeNotFoundException {
+        //given
+        RecipeDTO blockingRecipe = recipeService.getRecipe("carbonara");
+        recipeCache.invalidateAll();
+        //when
+        //then
+        StepVerifier.create(reactiveRecipeService.getRecipe("carbonara"))
+                .assertNext(recipe -> {
+                    assertEquals(blockingRecipe, recipe);
+                    assertEquals(List.of("spaghetti", "guanciale", "egg", "pecorino"), recipe.getIngredients());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getRecipe_whenRecipeDoesNotExist_failsWithRecipeNotFoundException() {
+        //when
+        //then
+        StepVerifier.create(reactiveRecipeService.getRecipe("lasagna"))
+                .expectError(RecipeNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getRecipe_whenRecipeWasRead_itIsServedFromTheCache() {
+        //given
+        reactiveRecipeService.getRecipe("caprese").block();
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        //when
+        //then
+        StepVerifier.create(reactiveRecipeService.getRecipe("caprese"))
+                .assertNext(recipe -> assertEquals("caprese", recipe.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void listRecipes_whenThereAreMoreRecipesThanThePageSize_pagesFollowTheCursor() {
+        //when
+        RecipePageDTO firstPage = reactiveRecipeService.listRecipes(RecipeListingOrder.NAME, null, null, null, null, 2).block();
+        RecipePageDTO secondPage = reactiveRecipeService.listRecipes(RecipeListingOrder.NAME, firstPage.getNextCursor(), null, null, null, 2).block();
+        //then
+        assertEquals(List.of("caprese", "carbonara"), firstPage.getRecipes().stream().map(RecipeDTO::getName).toList());
+        assertEquals(List.of("tomato", "mozzarella", "basil"), firstPage.getRecipes().get(0).getIngredients());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of("margherita"), secondPage.getRecipes().stream().map(RecipeDTO::getName).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void listRecipes_whenFiltered_returnsTheSamePageAsTheBlockingService() throws InvalidCursorException {
+        //given
+        RecipePageDTO blockingPage = recipeService.listRecipes(RecipeListingOrder.ID, null, true, 3, null, 10);
+        //when
+        //then
+        StepVerifier.create(reactiveRecipeService.listRecipes(RecipeListingOrder.ID, null, true, 3, null, 10))
+                .assertNext(page -> assertEquals(blockingPage, page))
+                .verifyComplete();
+    }
+
+    @Test
+    void listRecipes_whenCursorBelongsToAnotherOrder_failsWithInvalidCursorException() {
+        //given
+        String nameCursor = reactiveRecipeService.listRecipes(RecipeListingOrder.NAME, null, null, null, null, 1).block().getNextCursor();
+        //when
+        //then
+        StepVerifier.create(reactiveRecipeService.listRecipes(RecipeListingOrder.ID, nameCursor, null, null, null, 1))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    private RecipeDTO buildRecipeDTO(String name, boolean vegetarian, int servings, List<String> ingredients) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(vegetarian);
+        recipeDTO.setServings(servings);
+        recipeDTO.setIngredients(ingredients);
+        recipeDTO.setCookingInstructions("cook it");
+        return recipeDTO;
+    }
+}
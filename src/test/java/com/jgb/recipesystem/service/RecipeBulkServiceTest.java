@@ -0,0 +1,169 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.database.entity.Ingredient;
+import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.model.BulkRecipeReportDTO;
+import com.jgb.recipesystem.model.BulkRecipeResultDTO;
+import com.jgb.recipesystem.model.BulkRecipeStatus;
+import com.jgb.recipesystem.model.RecipeDTO;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * RecipeBulkServiceTest
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeBulkServiceTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@SpringBootTest(properties = "recipe-system.bulk.batch-size=2")
+public class RecipeBulkServiceTest {
+
+    @MockBean
+    private RecipeRepository recipeRepository;
+
+    @MockBean
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private RecipeBulkService recipeBulkService;
+
+    @Test
+    void importRecipes_whenRecipesAreMixed_eachRecipeIsReportedInRequestOrder() {
+        //given
+        when(recipeRepository.findExistingNames(anyCollection())).thenReturn(List.of("margherita"));
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        RecipeDTO invalidRecipe = buildRecipeDTO("caprese");
+        invalidRecipe.setServings(-1);
+        List<RecipeDTO> recipes = Arrays.asList(buildRecipeDTO("four_cheese_pizza"), buildRecipeDTO("margherita"),
+                invalidRecipe, buildRecipeDTO("four_cheese_pizza"), null, buildRecipeDTO("tomato_soup"));
+        //when
+        BulkRecipeReportDTO report = recipeBulkService.importRecipes(recipes, false);
+        //then
+        assertEquals(List.of(BulkRecipeStatus.CREATED, BulkRecipeStatus.DUPLICATE, BulkRecipeStatus.INVALID,
+                BulkRecipeStatus.DUPLICATE, BulkRecipeStatus.INVALID, BulkRecipeStatus.CREATED),
+                report.getResults().stream().map(BulkRecipeResultDTO::getStatus).toList());
+        assertEquals(2, report.getCreated());
+        assertEquals("servings", report.getResults().get(2).getErrors().get(0).getFieldName());
+        verify(recipeRepository, times(2)).saveAll(anyList());
+        verify(recipeRepository, never()).findOneByName(any());
+    }
+
+    @Test
+    void importRecipes_whenUpsertAndRecipeExists_existingRecipeIsUpdated() {
+        //given
+        Recipe existingRecipe = new Recipe();
+        existingRecipe.setId(7L);
+        existingRecipe.setName("margherita");
+        existingRecipe.setServings(1);
+        existingRecipe.setIngredients(new ArrayList<>(List.of(ingredient(3L, "tomato"))));
+        when(recipeRepository.findAllWithIngredientsByNameIn(anyCollection())).thenReturn(List.of(existingRecipe));
+        when(ingredientDictionary.references(anyList())).thenReturn(
+                List.of(ingredient(1L, "pizza crust"), ingredient(2L, "mozzarella"), ingredient(3L, "tomato")));
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        //when
+        BulkRecipeReportDTO report = recipeBulkService.importRecipes(List.of(buildRecipeDTO("margherita")), true);
+        //then
+        assertEquals(BulkRecipeStatus.UPDATED, report.getResults().get(0).getStatus());
+        assertEquals(4, existingRecipe.getServings());
+        assertEquals(List.of("pizza crust", "mozzarella", "tomato"),
+                existingRecipe.getIngredients().stream().map(Ingredient::getName).toList());
+    }
+
+    @Test
+    void importRecipes_whenCookingInstructionsAreTooLong_recipeIsInvalidAndItsBatchIsWrittenOnce() {
+        //given
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        RecipeDTO tooLong = buildRecipeDTO("caprese");
+        tooLong.setCookingInstructions("slice and season. ".repeat(200));
+        //when
+        BulkRecipeReportDTO report = recipeBulkService.importRecipes(
+                List.of(buildRecipeDTO("margherita"), tooLong, buildRecipeDTO("tomato_soup")), false);
+        //then
+        assertEquals(List.of(BulkRecipeStatus.CREATED, BulkRecipeStatus.INVALID, BulkRecipeStatus.CREATED),
+                report.getResults().stream().map(BulkRecipeResultDTO::getStatus).toList());
+        assertEquals("cookingInstructions", report.getResults().get(1).getErrors().get(0).getFieldName());
+        verify(recipeRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void importRecipes_whenDatabaseRefusesRecipeForAnotherReason_recipeIsInvalidNotDuplicate() {
+        //given
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("could not execute statement",
+                new DataException("Value too long for column", new SQLException("Value too long for column", "22001")));
+        DataIntegrityViolationException nameTaken = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "recipe.uk_recipe_name"));
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            if (recipes.stream().anyMatch(recipe -> recipe.getName().equals("caprese"))) {
+                throw tooLong;
+            }
+            if (recipes.stream().anyMatch(recipe -> recipe.getName().equals("margherita"))) {
+                throw nameTaken;
+            }
+            return recipes;
+        });
+        //when
+        BulkRecipeReportDTO report = recipeBulkService.importRecipes(
+                List.of(buildRecipeDTO("margherita"), buildRecipeDTO("caprese")), false);
+        //then
+        assertEquals(List.of(BulkRecipeStatus.DUPLICATE, BulkRecipeStatus.INVALID),
+                report.getResults().stream().map(BulkRecipeResultDTO::getStatus).toList());
+        assertTrue(report.getResults().get(1).getErrors().get(0).getMessage().contains("Value too long"));
+    }
+
+    @Test
+    void importNdjson_whenLineIsMalformed_lineIsReportedAsInvalid() throws IOException {
+        //given
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        String ndjson = """
+                {"name":"margherita","vegetarian":true,"servings":4,"ingredients":["tomato"],"cookingInstructions":"bake"}
+                {"name":"caprese",
+
+                {"name":"caprese","vegetarian":true,"servings":2,"ingredients":["tomato"],"cookingInstructions":"slice"}
+                """;
+        //when
+        BulkRecipeReportDTO report = recipeBulkService.importNdjson(new StringReader(ndjson), false);
+        //then
+        assertEquals(List.of(BulkRecipeStatus.CREATED, BulkRecipeStatus.INVALID, BulkRecipeStatus.CREATED),
+                report.getResults().stream().map(BulkRecipeResultDTO::getStatus).toList());
+    }
+
+    private Ingredient ingredient(Long id, String name) {
+        Ingredient ingredient = new Ingredient(name);
+        ingredient.setId(id);
+        return ingredient;
+    }
+
+    private RecipeDTO buildRecipeDTO(String name) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(4);
+        recipeDTO.setIngredients(List.of("pizza crust", "mozzarella", "tomato"));
+        recipeDTO.setCookingInstructions("put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C");
+        return recipeDTO;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jgb.recipesystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RecipeExportServiceTest
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeExportServiceTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@SpringBootTest
+public class RecipeExportServiceTest {
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    void exportNdjson_whenCatalogueHasRecipes_writesOneLinePerRecipeAsGetRecipeReturnsIt() throws Exception {
+        //given
+        createRecipes();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        long exported = recipeExportService.exportNdjson(outputStream, false);
+        //then
+        assertEquals(3, exported);
+        assertEquals(expectedRecipes(), readLines(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    @Test
+    void exportNdjson_whenGzipIsRequested_writesTheSameLinesCompressed() throws Exception {
+        //given
+        createRecipes();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        long exported = recipeExportService.exportNdjson(outputStream, true);
+        //then
+        assertEquals(3, exported);
+        assertEquals(expectedRecipes(),
+                readLines(new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))));
+    }
+
+    @Test
+    void exportNdjson_whenCatalogueIsEmpty_writesNothing() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        long exported = recipeExportService.exportNdjson(outputStream, false);
+        //then
+        assertEquals(0, exported);
+        assertEquals(0, outputStream.size());
+    }
+
+    private void createRecipes() throws DuplicateEntryException {
+        recipeService.createRecipe(buildRecipeDTO("margherita", true, 4, List.of("pizza crust", "tomato", "mozzarella")));
+        recipeService.createRecipe(buildRecipeDTO("carbonara", false, 4, List.of("spaghetti", "guanciale", "egg", "pecorino")));
+        recipeService.createRecipe(buildRecipeDTO("caprese", true, 2, List.of("tomato", "mozzarella", "basil")));
+    }
+
+    private List<RecipeDTO> expectedRecipes() throws RecipeNotFoundException {
+        List<RecipeDTO> recipes = new ArrayList<>();
+        for (String name : List.of("margherita", "carbonara", "caprese")) {
+            recipes.add(recipeService.getRecipe(name));
+        }
+        return recipes;
+    }
+
+    private List<RecipeDTO> readLines(InputStream inputStream) throws IOException {
+        String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        List<RecipeDTO> recipes = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            recipes.add(objectMapper.readValue(line, RecipeDTO.class));
+        }
+        return recipes;
+    }
+
+    private RecipeDTO buildRecipeDTO(String name, boolean vegetarian, int servings, List<String> ingredients) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(vegetarian);
+        recipeDTO.setServings(servings);
+        recipeDTO.setIngredients(ingredients);
+        recipeDTO.setCookingInstructions("mix everything and serve");
+        return recipeDTO;
+    }
+}
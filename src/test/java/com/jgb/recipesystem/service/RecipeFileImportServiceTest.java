@@ -0,0 +1,201 @@
+package com.jgb.recipesystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeFileFormat;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RecipeFileImportServiceTest
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeFileImportServiceTest</code>
+ * <br>
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(properties = {"recipe-system.bulk.batch-size=2", "recipe-system.import.validation-threads=3",
+        "recipe-system.import.queue-capacity=2"})
+public class RecipeFileImportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private RecipeFileImportService recipeFileImportService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    void importFile_whenNdjsonHasRejectedLines_validRecipesAreCreatedAndTheRestGoToTheErrorFile() throws Exception {
+        //given
+        Path file = write("recipes.ndjson",
+                json("margherita", 4),
+                json("caprese", -1),
+                "{not json",
+                "",
+                json("carbonara", 2),
+                json("margherita", 2),
+                json("tomato_soup", 3));
+        //when
+        RecipeFileImportService.ImportSummary summary = recipeFileImportService.importFile(file, RecipeFileFormat.NDJSON, false);
+        //then
+        assertEquals(6, summary.records());
+        assertEquals(3, summary.created());
+        assertEquals(3, summary.rejected());
+        assertEquals(List.of("pizza crust", "tomato", "mozzarella"), recipeService.getRecipe("tomato_soup").getIngredients());
+        List<JsonNode> errors = errors(file);
+        assertEquals(List.of("servings", "Line could not be read as a recipe", "A recipe with name margherita already exists."),
+                List.of(errors.get(0).get("errors").get(0).get("fieldName").asText(),
+                        errors.get(1).get("errors").get(0).get("message").asText().split(":")[0],
+                        errors.get(2).get("errors").get(0).get("message").asText()));
+        assertEquals(Files.readString(file).indexOf("{not json"), errors.get(1).get("offset").asLong());
+        assertFalse(Files.exists(checkpoint(file)));
+    }
+
+    @Test
+    void importFile_whenCsvHasQuotedFields_fieldsKeepTheirCommasQuotesAndLineBreaks() throws Exception {
+        //given
+        Path file = write("recipes.csv",
+                "servings,name,ingredients,vegetarian,cookingInstructions",
+                "4,margherita,pizza crust|tomato|mozzarella,true,\"bake it, then serve\"",
+                "2,\"caprese\",tomato|mozzarella|basil,true,\"slice the \"\"good\"\" tomatoes",
+                "add the mozzarella\"",
+                "two,carbonara,spaghetti|egg,false,mix");
+        //when
+        RecipeFileImportService.ImportSummary summary = recipeFileImportService.importFile(file, RecipeFileFormat.of(file), false);
+        //then
+        assertEquals(3, summary.records());
+        assertEquals(2, summary.created());
+        assertEquals("bake it, then serve", recipeService.getRecipe("margherita").getCookingInstructions());
+        RecipeDTO caprese = recipeService.getRecipe("caprese");
+        assertEquals("slice the \"good\" tomatoes\nadd the mozzarella", caprese.getCookingInstructions());
+        assertEquals(List.of("tomato", "mozzarella", "basil"), caprese.getIngredients());
+        assertTrue(errors(file).get(0).get("errors").get(0).get("message").asText().contains("servings must be a whole number"));
+    }
+
+    @Test
+    void importFile_whenCheckpointExists_importGoesOnFromTheCheckpoint() throws Exception {
+        //given
+        Path file = write("recipes.ndjson", json("margherita", 4), json("caprese", -1), json("carbonara", 2));
+        long checkpointOffset = Files.readString(file).indexOf(json("carbonara", 2));
+        Files.writeString(errorsFile(file), "{\"offset\":1}\n{\"offset\":2}\n");
+        new ImportCheckpoint(Files.size(file), Files.getLastModifiedTime(file).toMillis(), checkpointOffset,
+                "{\"offset\":1}\n".length(), 2, 1, 0, 1, 0).write(checkpoint(file));
+        //when
+        RecipeFileImportService.ImportSummary summary = recipeFileImportService.importFile(file, RecipeFileFormat.NDJSON, false);
+        //then
+        assertEquals(checkpointOffset, summary.resumedFrom());
+        assertEquals(3, summary.records());
+        assertEquals(2, summary.created());
+        assertEquals("carbonara", recipeService.getRecipe("carbonara").getName());
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe("margherita"));
+        assertEquals("{\"offset\":1}\n", Files.readString(errorsFile(file)));
+        assertFalse(Files.exists(checkpoint(file)));
+    }
+
+    @Test
+    void importFile_whenImportStoppedAfterABatchCommittedButBeforeItsCheckpoint_resumeDoesNotRejectTheBatch() throws Exception {
+        //given
+        Path file = write("recipes.ndjson", json("margherita", 4), json("carbonara", 2), json("tomato_soup", 3));
+        String content = Files.readString(file);
+        long batchEnd = content.indexOf(json("tomato_soup", 3));
+        recipeFileImportService.importFile(write("committed.ndjson", json("margherita", 4), json("carbonara", 2)),
+                RecipeFileFormat.NDJSON, false);
+        new ImportCheckpoint(Files.size(file), Files.getLastModifiedTime(file).toMillis(), 0, 0, 0, 0, 0, 0, batchEnd)
+                .write(checkpoint(file));
+        //when
+        RecipeFileImportService.ImportSummary summary = recipeFileImportService.importFile(file, RecipeFileFormat.NDJSON, false);
+        //then
+        assertEquals(3, summary.records());
+        assertEquals(3, summary.created());
+        assertEquals(0, summary.rejected());
+        assertEquals("", Files.readString(errorsFile(file)));
+    }
+
+    @Test
+    void importFile_whenCheckpointBelongsToAnotherVersionOfTheFile_failsWithoutImporting() throws Exception {
+        //given
+        Path file = write("recipes.ndjson", json("margherita", 4));
+        new ImportCheckpoint(Files.size(file) + 1, Files.getLastModifiedTime(file).toMillis(), 0, 0, 0, 0, 0, 0, 0)
+                .write(checkpoint(file));
+        //when
+        //then
+        assertThrows(IllegalStateException.class, () -> recipeFileImportService.importFile(file, RecipeFileFormat.NDJSON, false));
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe("margherita"));
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.writeString(directory.resolve(name), String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private String json(String name, int servings) {
+        return "{\"name\":\"" + name + "\",\"vegetarian\":true,\"servings\":" + servings
+                + ",\"ingredients\":[\"pizza crust\",\"tomato\",\"mozzarella\"],\"cookingInstructions\":\"bake it\"}";
+    }
+
+    private List<JsonNode> errors(Path file) throws IOException {
+        List<JsonNode> errors = new ArrayList<>();
+        for (String line : Files.readAllLines(errorsFile(file))) {
+            errors.add(objectMapper.readTree(line));
+        }
+        return errors;
+    }
+
+    private Path errorsFile(Path file) {
+        return file.resolveSibling(file.getFileName() + RecipeFileImportService.ERRORS_SUFFIX);
+    }
+
+    private Path checkpoint(Path file) {
+        return file.resolveSibling(file.getFileName() + RecipeFileImportService.CHECKPOINT_SUFFIX);
+    }
+}
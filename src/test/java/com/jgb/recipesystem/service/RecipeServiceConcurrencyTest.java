@@ -0,0 +1,186 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.RecipeVersionConflictException;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RecipeServiceConcurrencyTest
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeServiceConcurrencyTest</code>
+ * <br>
+ * Has several writers update the same few recipes at once against an in-memory database, and checks that no update
+ * is lost and that the ingredients stored always belong to the recipe row they were written with.
+ * <br>
+ * The connection pool is kept small so that writers that need every connection at once would time out.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + RecipeServiceConcurrencyTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+public class RecipeServiceConcurrencyTest {
+
+    static final int POOL_SIZE = 4;
+
+    private static final List<String> HOT_RECIPES = List.of("margherita", "marinara");
+    private static final List<String> INGREDIENTS = List.of("pizza crust", "tomato", "mozzarella", "basil",
+            "oregano", "garlic", "olive oil", "salt");
+    private static final int WRITERS = 8;
+    private static final int UPDATES_PER_WRITER = 40;
+    private static final int RECIPES_PER_WRITER = 10;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() throws DuplicateEntryException {
+        for (String name : HOT_RECIPES) {
+            recipeService.createRecipe(buildRecipeDTO(name, 2));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    void updateRecipe_whenManyWritersUpdateHotRecipes_everyAcceptedUpdateBumpsTheVersionOnce() throws Exception {
+        //given
+        AtomicIntegerArray accepted = new AtomicIntegerArray(HOT_RECIPES.size());
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            boolean conditional = writer % 2 == 0;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                    int recipe = i % HOT_RECIPES.size();
+                    String name = HOT_RECIPES.get(recipe);
+                    RecipeVersion expectedVersion = conditional ? recipeService.getRecipeVersion(name) : null;
+                    try {
+                        recipeService.updateRecipe(buildRecipeDTO(name, 1 + (i % INGREDIENTS.size())), expectedVersion);
+                        accepted.incrementAndGet(recipe);
+                    } catch (RecipeVersionConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        //when
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+        //then
+        recipeCache.invalidateAll();
+        for (int recipe = 0; recipe < HOT_RECIPES.size(); recipe++) {
+            RecipeDTO stored = recipeService.getRecipe(HOT_RECIPES.get(recipe));
+            assertEquals(accepted.get(recipe), recipeService.getRecipeVersion(HOT_RECIPES.get(recipe)).version());
+            assertEquals(INGREDIENTS.subList(0, stored.getServings()), stored.getIngredients());
+        }
+        assertEquals(WRITERS * UPDATES_PER_WRITER, accepted.get(0) + accepted.get(1) + conflicts.get());
+        assertTrue(accepted.get(0) > 0 && accepted.get(1) > 0);
+    }
+
+    @Test
+    void createAndUpdateRecipe_whenAsManyWritersAsConnectionsUseNewIngredients_noWriterWaitsForASecondConnection() throws Exception {
+        //given
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < POOL_SIZE; writer++) {
+            int writerId = writer;
+            writers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < RECIPES_PER_WRITER; i++) {
+                    String name = "recipe_" + writerId + "_" + i;
+                    recipeService.createRecipe(buildRecipeDTO(name, List.of("salt", "new_" + name)));
+                    recipeService.updateRecipe(buildRecipeDTO(name, List.of("salt", "new_" + name, "newer_" + name)));
+                }
+                return null;
+            }));
+        }
+        //when
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+        //then
+        recipeCache.invalidateAll();
+        for (int writer = 0; writer < POOL_SIZE; writer++) {
+            for (int i = 0; i < RECIPES_PER_WRITER; i++) {
+                String name = "recipe_" + writer + "_" + i;
+                assertEquals(List.of("salt", "new_" + name, "newer_" + name), recipeService.getRecipe(name).getIngredients());
+            }
+        }
+    }
+
+    /**
+     * Builds a recipe whose ingredient list is as long as its servings, so that a recipe row and ingredient rows
+     * written by different updates do not match
+     */
+    private RecipeDTO buildRecipeDTO(String name, int servings) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(servings);
+        recipeDTO.setIngredients(INGREDIENTS.subList(0, servings));
+        recipeDTO.setCookingInstructions("Bake it");
+        return recipeDTO;
+    }
+
+    private RecipeDTO buildRecipeDTO(String name, List<String> ingredients) {
+        RecipeDTO recipeDTO = buildRecipeDTO(name, 1);
+        recipeDTO.setIngredients(ingredients);
+        return recipeDTO;
+    }
+}
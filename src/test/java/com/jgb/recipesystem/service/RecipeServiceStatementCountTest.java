@@ -0,0 +1,276 @@
+package com.jgb.recipesystem.service;
+
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.database.SqlStatementCounter;
+import com.jgb.recipesystem.database.entity.Ingredient;
+import com.jgb.recipesystem.database.repository.RecipeRepository;
+import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.InvalidCursorException;
+import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.model.RecipeBatchDTO;
+import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RecipeServiceStatementCountTest
+ * <br>
+ * <code>com.jgb.recipesystem.service.RecipeServiceStatementCountTest</code>
+ * <br>
+ * Runs the read and write paths of {@link RecipeService} against an in-memory database and checks how many
+ * statements each of them sends. Reads must load ingredients with the recipes, not with one more statement per
+ * recipe.
+ *
+ * @author Jaime Gotor Blazquez
+ * @since 18 October 2026
+ */
+@ActiveProfiles("h2")
+@SpringBootTest
+@Import(SqlStatementCounter.class)
+public class RecipeServiceStatementCountTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeBulkService recipeBulkService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() throws DuplicateEntryException {
+        // the first inserts also reserve blocks of ids and fill the ingredient dictionary, which is not what these
+        // tests count
+        recipeService.createRecipe(buildRecipeDTO("margherita"));
+        RecipeDTO caprese = buildRecipeDTO("caprese");
+        caprese.setIngredients(List.of("tomato", "mozzarella", "basil", "olive oil"));
+        recipeService.createRecipe(caprese);
+        sqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from recipe_ingredient");
+        jdbcTemplate.update("delete from recipe");
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
+    @Test
+    void createRecipe_insertsRecipeAndIngredientsOnly() throws DuplicateEntryException {
+        //when
+        recipeService.createRecipe(buildRecipeDTO("four_cheese_pizza"));
+        //then
+        assertEquals(2, sqlStatementCounter.count());
+    }
+
+    @Test
+    void createRecipe_whenRecipeWithSameNameExists_onlyTheInsertIsSent() {
+        //when
+        assertThrows(DuplicateEntryException.class, () -> recipeService.createRecipe(buildRecipeDTO("margherita")));
+        //then
+        assertEquals(1, sqlStatementCounter.count());
+        assertEquals(2, recipeRepository.count());
+    }
+
+    @Test
+    void updateRecipe_whenIngredientsDoNotChange_readsAndUpdatesTheRecipeOnly() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setServings(2);
+        //when
+        recipeService.updateRecipe(recipeDTO);
+        //then
+        assertEquals(2, sqlStatementCounter.count());
+        assertEquals(2, recipeRepository.findOneByName("margherita").orElseThrow().getServings());
+    }
+
+    @Test
+    void updateRecipe_whenIngredientsAreAppended_insertsTheNewIngredientsOnly() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setIngredients(List.of("pizza crust", "mozzarella", "tomato", "basil", "olive oil"));
+        //when
+        recipeService.updateRecipe(recipeDTO);
+        //then
+        assertEquals(3, sqlStatementCounter.count());
+        assertEquals(recipeDTO.getIngredients(), recipeService.getRecipe("margherita").getIngredients());
+    }
+
+    @Test
+    void updateRecipe_whenOneIngredientChanges_updatesThatIngredientOnly() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setIngredients(List.of("pizza crust", "basil", "tomato"));
+        //when
+        recipeService.updateRecipe(recipeDTO);
+        //then
+        assertEquals(3, sqlStatementCounter.count());
+        assertEquals(recipeDTO.getIngredients(), recipeService.getRecipe("margherita").getIngredients());
+    }
+
+    @Test
+    void updateRecipe_whenIngredientIsNotInTheDictionary_looksItUpAndInsertsItOnce() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setIngredients(List.of("pizza crust", "burrata", "tomato"));
+        RecipeDTO caprese = buildRecipeDTO("caprese");
+        caprese.setIngredients(List.of("tomato", "burrata", "basil"));
+        //when
+        recipeService.updateRecipe(recipeDTO);
+        int statementsOfFirstUpdate = sqlStatementCounter.count();
+        sqlStatementCounter.reset();
+        recipeService.updateRecipe(caprese);
+        //then
+        assertEquals(5, statementsOfFirstUpdate);
+        assertEquals(4, sqlStatementCounter.count());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from ingredient where name = 'burrata'", Integer.class));
+    }
+
+    @Test
+    void updateRecipe_whenIngredientDiffersOnlyInATrailingSpace_itIsAnotherDictionaryEntry() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setIngredients(List.of("pizza crust", "tomato ", "tomato"));
+        //when
+        recipeService.updateRecipe(recipeDTO);
+        //then
+        assertEquals(recipeDTO.getIngredients(), recipeService.getRecipe("margherita").getIngredients());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from ingredient where name like 'tomato%'", Integer.class));
+    }
+
+    @Test
+    void updateRecipe_whenIngredientsAreRemoved_updatesChangedPositionsAndDeletesTheTail() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setIngredients(List.of("pizza crust", "tomato"));
+        //when
+        recipeService.updateRecipe(recipeDTO);
+        //then
+        assertEquals(4, sqlStatementCounter.count());
+        assertEquals(recipeDTO.getIngredients(), recipeService.getRecipe("margherita").getIngredients());
+    }
+
+    @Test
+    void importRecipes_whenUpsertDoesNotChangeIngredients_writesTheRecipeOnly() {
+        //given
+        RecipeDTO recipeDTO = buildRecipeDTO("margherita");
+        recipeDTO.setServings(2);
+        //when
+        recipeBulkService.importRecipes(List.of(recipeDTO), true);
+        //then
+        assertEquals(2, sqlStatementCounter.count());
+    }
+
+    @Test
+    void deleteRecipe_deletesIngredientsAndRecipeOnly() throws RecipeNotFoundException {
+        //when
+        recipeService.deleteRecipe("margherita");
+        //then
+        assertEquals(2, sqlStatementCounter.count());
+        assertEquals(1, recipeRepository.count());
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from recipe_ingredient", Integer.class));
+    }
+
+    @Test
+    void getRecipes_whenNothingIsCached_loadsEveryRecipeWithOneStatement() {
+        //when
+        RecipeBatchDTO batch = recipeService.getRecipes(List.of("margherita", "four_cheese_pizza", "caprese"));
+        //then
+        assertEquals(1, sqlStatementCounter.count());
+        assertEquals(List.of("margherita", "caprese"), batch.getRecipes().stream().map(RecipeDTO::getName).toList());
+        assertEquals(List.of("tomato", "mozzarella", "basil", "olive oil"), batch.getRecipes().get(1).getIngredients());
+        assertEquals(List.of("four_cheese_pizza"), batch.getMissing());
+    }
+
+    @Test
+    void getRecipes_whenEveryRecipeIsCached_sendsNoStatement() {
+        //given
+        recipeService.getRecipes(List.of("margherita", "caprese"));
+        sqlStatementCounter.reset();
+        //when
+        RecipeBatchDTO batch = recipeService.getRecipes(List.of("caprese", "margherita"));
+        //then
+        assertEquals(0, sqlStatementCounter.count());
+        assertEquals(List.of("caprese", "margherita"), batch.getRecipes().stream().map(RecipeDTO::getName).toList());
+    }
+
+    @Test
+    void getRecipe_whenRecipeIsNotCached_loadsRecipeAndIngredientsWithOneStatement() throws RecipeNotFoundException {
+        //when
+        RecipeDTO recipeDTO = recipeService.getRecipe("caprese");
+        //then
+        assertEquals(1, sqlStatementCounter.count());
+        assertEquals(List.of("tomato", "mozzarella", "basil", "olive oil"), recipeDTO.getIngredients());
+    }
+
+    @Test
+    void listRecipes_seeksIdsAndLoadsThePageWithItsIngredientsInOneStatement() throws InvalidCursorException {
+        //when
+        RecipePageDTO page = recipeService.listRecipes(RecipeListingOrder.NAME, null, null, null, null, 10);
+        //then
+        assertEquals(2, sqlStatementCounter.count());
+        assertEquals(2, page.getRecipes().size());
+    }
+
+    @Test
+    void findAllById_whenIngredientsAreReadLazily_loadsThemForEveryRecipeWithOneStatement() {
+        //given
+        List<Long> ids = recipeRepository.findIdsAfterId(null, null, null, null, PageRequest.ofSize(10));
+        sqlStatementCounter.reset();
+        //when
+        List<List<String>> ingredients = transactionTemplate.execute(status -> recipeRepository.findAllById(ids).stream()
+                .map(recipe -> recipe.getIngredients().stream().map(Ingredient::getName).toList())
+                .toList());
+        //then
+        assertEquals(2, sqlStatementCounter.count());
+        assertEquals(2, ingredients.size());
+    }
+
+    private RecipeDTO buildRecipeDTO(String name) {
+        RecipeDTO recipeDTO = new RecipeDTO();
+        recipeDTO.setName(name);
+        recipeDTO.setVegetarian(true);
+        recipeDTO.setServings(4);
+        recipeDTO.setIngredients(List.of("pizza crust", "mozzarella", "tomato"));
+        recipeDTO.setCookingInstructions("put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C");
+        return recipeDTO;
+    }
+}
@@ -1,23 +1,46 @@
 package com.jgb.recipesystem.service;
 
+import com.jgb.recipesystem.cache.RecipeCache;
+import com.jgb.recipesystem.database.entity.Ingredient;
 import com.jgb.recipesystem.database.entity.Recipe;
+import com.jgb.recipesystem.database.repository.RecipeIngredientRow;
 import com.jgb.recipesystem.database.repository.RecipeRepository;
 import com.jgb.recipesystem.exception.DuplicateEntryException;
+import com.jgb.recipesystem.exception.InvalidCursorException;
 import com.jgb.recipesystem.exception.RecipeNotFoundException;
+import com.jgb.recipesystem.exception.RecipeVersionConflictException;
+import com.jgb.recipesystem.mapper.RecipeMapper;
 import com.jgb.recipesystem.model.RecipeDTO;
+import com.jgb.recipesystem.model.RecipeListingOrder;
+import com.jgb.recipesystem.model.RecipePageDTO;
+import com.jgb.recipesystem.model.RecipeVersion;
+import com.jgb.recipesystem.model.VersionedRecipe;
+import com.jgb.recipesystem.search.IngredientIndex;
+import com.jgb.recipesystem.search.RecipeTextIndex;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,32 +58,74 @@ public class RecipeServiceTest {
     @MockBean
     private RecipeRepository recipeRepository;
 
+    @MockBean
+    private IngredientDictionary ingredientDictionary;
+
     @Autowired
     private RecipeService recipeService;
 
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private IngredientIndex ingredientIndex;
+
+    @Autowired
+    private RecipeTextIndex recipeTextIndex;
+
+    @AfterEach
+    void tearDown() {
+        recipeCache.invalidateAll();
+        ingredientIndex.clear();
+        recipeTextIndex.clear();
+    }
+
     @Test
     void createRecipe_whenRecipeNameExists_throwsDuplicateEntryException() {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.of(buildRecipe()));
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenThrow(duplicateNameViolation());
         //when
         Exception exception = assertThrows(DuplicateEntryException.class, () ->  recipeService.createRecipe(recipeDto));
         //then
         String actualMessage = "A recipe with name " +  recipeDto.getName() + " already exists.";
         assertEquals(actualMessage, exception.getMessage());
-        verify(recipeRepository, never()).save(any(Recipe.class));
+        verify(recipeRepository, never()).readByName(anyString());
+    }
+
+    @Test
+    void createRecipe_whenAnotherConstraintIsViolated_violationIsNotTakenForADuplicateName() {
+        //given
+        DataIntegrityViolationException missingIngredient = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Cannot add or update a child row", new SQLException(), "recipe_ingredient_ibfk_2"));
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenThrow(missingIngredient);
+        //when
+        Exception exception = assertThrows(DataIntegrityViolationException.class, () -> recipeService.createRecipe(buildRecipeDTO()));
+        //then
+        assertSame(missingIngredient, exception);
     }
 
     @Test
     void createRecipe_whenRecipeNameDoesNotExist_recipeIsSaved() throws DuplicateEntryException {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.empty());
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(buildRecipe());
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenReturn(buildRecipe());
         //when
         recipeService.createRecipe(recipeDto);
         //then
-        verify(recipeRepository).save(any(Recipe.class));
+        verify(recipeRepository).saveAndFlush(any(Recipe.class));
+        verify(recipeRepository, never()).readByName(anyString());
+    }
+
+    @Test
+    void createRecipe_whenRecipeIsSaved_recipeIsSearchableByIngredient() throws DuplicateEntryException {
+        //given
+        RecipeDTO recipeDto = buildRecipeDTO();
+        when(recipeRepository.saveAndFlush(any(Recipe.class))).thenReturn(buildRecipe());
+        //when
+        recipeService.createRecipe(recipeDto);
+        //then
+        assertEquals(List.of(recipeDto.getName()), ingredientIndex.search(List.of("gorgonzola"), List.of(), 10));
     }
 
     @Test
@@ -69,19 +134,19 @@ public class RecipeServiceTest {
         RecipeDTO recipeDto = buildRecipeDTO();
         Recipe recipeEntity = buildRecipe();
         recipeEntity.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.of(recipeEntity));
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.of(versioned(recipeEntity)));
         //when
         RecipeDTO result = recipeService.getRecipe(recipeDto.getName());
         //then
         assertEquals(recipeDto.getName(), result.getName());
-        verify(recipeRepository).findOneByName(anyString());
+        verify(recipeRepository).readByName(anyString());
     }
 
     @Test
     void getRecipe_whenRecipeNameDoesNotExist_recipeNotFoundExceptionIsThrown() {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.empty());
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.empty());
         //when
         Exception exception = assertThrows(RecipeNotFoundException.class, () ->  recipeService.getRecipe(recipeDto.getName()));
         //then
@@ -93,50 +158,277 @@ public class RecipeServiceTest {
     void updateRecipe_whenRecipeNameDoesNotExist_thenThrowRecipeNotFoundException() {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.empty());
+        when(recipeRepository.findIngredientRowsByName(anyString())).thenReturn(List.of());
         //when
         Exception exception = assertThrows(RecipeNotFoundException.class, () ->  recipeService.updateRecipe(recipeDto));
         //then
         String actualMessage = "Could not find recipe with name " + recipeDto.getName();
         assertEquals(actualMessage, exception.getMessage());
-        verify(recipeRepository, never()).save(any(Recipe.class));
+        verify(recipeRepository, never()).updateRecipe(any(), anyLong(), anyBoolean(), any(), any());
     }
 
     @Test
     void updateRecipe_whenRecipeNameIsFound_recipeIsSaved() throws RecipeNotFoundException {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.of(buildRecipe()));
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(buildRecipe());
+        recipeDto.setServings(4);
+        when(recipeRepository.findIngredientRowsByName(anyString())).thenReturn(ingredientRows(buildRecipe()));
+        when(recipeRepository.updateRecipe(1L, 0L, true, 4, recipeDto.getCookingInstructions())).thenReturn(1);
+        //when
+        RecipeVersion recipeVersion = recipeService.updateRecipe(recipeDto);
+        //then
+        verify(recipeRepository).updateRecipe(1L, 0L, true, 4, recipeDto.getCookingInstructions());
+        assertEquals(new RecipeVersion(1L, 1L), recipeVersion);
+        verify(recipeRepository, never()).save(any(Recipe.class));
+    }
+
+    @Test
+    void updateRecipe_whenIngredientsChange_storedIngredientsAreDiffedAgainstNewOnes() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDto = buildRecipeDTO();
+        recipeDto.setIngredients(List.of("pizza crust", "tomato"));
+        when(recipeRepository.findIngredientRowsByName(anyString())).thenReturn(ingredientRows(buildRecipe()));
+        when(recipeRepository.updateRecipe(any(), anyLong(), anyBoolean(), any(), any())).thenReturn(1);
+        when(ingredientDictionary.ids(List.of("pizza crust", "tomato"))).thenReturn(List.of(1L, 6L));
         //when
         recipeService.updateRecipe(recipeDto);
         //then
-        verify(recipeRepository).save(any(Recipe.class));
+        verify(recipeRepository).updateIngredients(1L, List.of(1L, 2L, 3L, 4L, 5L), List.of(1L, 6L));
+    }
+
+    @Test
+    void updateRecipe_whenRecipeIsNotAtExpectedVersion_throwsConflictWithoutWriting() {
+        //given
+        Recipe recipeEntity = buildRecipe();
+        recipeEntity.setVersion(2);
+        when(recipeRepository.findIngredientRowsByName(anyString())).thenReturn(ingredientRows(recipeEntity));
+        //when
+        RecipeVersionConflictException exception = assertThrows(RecipeVersionConflictException.class,
+                () -> recipeService.updateRecipe(buildRecipeDTO(), new RecipeVersion(1L, 1L)));
+        //then
+        assertTrue(exception.isConditional());
+        verify(recipeRepository, never()).updateRecipe(any(), anyLong(), anyBoolean(), any(), any());
+        verify(recipeRepository, never()).updateIngredients(anyLong(), any(), any());
+    }
+
+    @Test
+    void updateRecipe_whenAnotherWriterUpdatesFirst_lastWriteWinsWithTheRecipeLocked() throws RecipeNotFoundException {
+        //given
+        RecipeDTO recipeDto = buildRecipeDTO();
+        Recipe concurrentlyUpdated = buildRecipe();
+        concurrentlyUpdated.setVersion(1);
+        when(recipeRepository.findIngredientRowsByName(anyString()))
+                .thenReturn(ingredientRows(buildRecipe()), ingredientRows(concurrentlyUpdated));
+        when(recipeRepository.updateRecipe(eq(1L), eq(0L), anyBoolean(), any(), any())).thenReturn(0);
+        when(recipeRepository.updateRecipe(eq(1L), eq(1L), anyBoolean(), any(), any())).thenReturn(1);
+        when(recipeRepository.lockVersionByName(recipeDto.getName())).thenReturn(Optional.of(1L));
+        //when
+        RecipeVersion recipeVersion = recipeService.updateRecipe(recipeDto);
+        //then
+        assertEquals(new RecipeVersion(1L, 2L), recipeVersion);
+        verify(recipeRepository).lockVersionByName(recipeDto.getName());
+        verify(recipeRepository, times(1)).updateIngredients(anyLong(), any(), any());
+    }
+
+    @Test
+    void updateRecipe_whenAnotherWriterUpdatesFirstOnAConditionalUpdate_throwsConflictAndLeavesIngredientsAlone() {
+        //given
+        when(recipeRepository.findIngredientRowsByName(anyString())).thenReturn(ingredientRows(buildRecipe()));
+        when(recipeRepository.updateRecipe(any(), anyLong(), anyBoolean(), any(), any())).thenReturn(0);
+        //when
+        RecipeVersionConflictException exception = assertThrows(RecipeVersionConflictException.class,
+                () -> recipeService.updateRecipe(buildRecipeDTO(), new RecipeVersion(1L, 0L)));
+        //then
+        assertTrue(exception.isConditional());
+        verify(recipeRepository, never()).lockVersionByName(anyString());
+        verify(recipeRepository, never()).updateIngredients(anyLong(), any(), any());
+    }
+
+    @Test
+    void deleteRecipe_whenRecipeIsNotAtExpectedVersion_throwsConflict() {
+        //given
+        when(recipeRepository.deleteRecipeByNameAndVersion("four_cheese_pizza", 1L, 1L)).thenReturn(0);
+        when(recipeRepository.findVersionByName("four_cheese_pizza")).thenReturn(Optional.of(new RecipeVersion(1L, 2L)));
+        //when
+        RecipeVersionConflictException exception = assertThrows(RecipeVersionConflictException.class,
+                () -> recipeService.deleteRecipe("four_cheese_pizza", new RecipeVersion(1L, 1L)));
+        //then
+        assertTrue(exception.isConditional());
     }
 
     @Test
     void deleteRecipe_whenRecipeNameDoesNotExist_thenThrowRecipeNotFoundException() {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.empty());
+        when(recipeRepository.deleteRecipeByName(anyString())).thenReturn(0);
         //when
         Exception exception = assertThrows(RecipeNotFoundException.class, () ->  recipeService.deleteRecipe(recipeDto.getName()));
         //then
         String actualMessage = "Could not find recipe with name " + recipeDto.getName();
         assertEquals(actualMessage, exception.getMessage());
-        verify(recipeRepository, never()).deleteByName(anyString());
+        verify(recipeRepository, never()).readByName(anyString());
     }
 
     @Test
     void deleteRecipe_whenRecipeNameDoesNotExist_recipeIsSaved() throws RecipeNotFoundException {
         //given
         RecipeDTO recipeDto = buildRecipeDTO();
-        when(recipeRepository.findOneByName(anyString())).thenReturn(Optional.of(buildRecipe()));
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(buildRecipe());
+        when(recipeRepository.deleteRecipeByName(anyString())).thenReturn(1);
         //when
         recipeService.deleteRecipe(recipeDto.getName());
         //then
-        verify(recipeRepository).deleteByName(anyString());
+        verify(recipeRepository).deleteRecipeByName(recipeDto.getName());
+    }
+
+    @Test
+    void getRecipe_whenRecipeIsCached_repositoryIsNotQueriedAgain() throws RecipeNotFoundException {
+        //given
+        Recipe recipeEntity = buildRecipe();
+        recipeEntity.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.of(versioned(recipeEntity)));
+        RecipeDTO first = recipeService.getRecipe(recipeEntity.getName());
+        long hitsBefore = recipeCache.stats().hitCount();
+        //when
+        RecipeDTO second = recipeService.getRecipe(recipeEntity.getName());
+        //then
+        assertSame(first, second);
+        verify(recipeRepository, times(1)).readByName(anyString());
+        assertEquals(1, recipeCache.stats().hitCount() - hitsBefore);
+    }
+
+    @Test
+    void getRecipe_whenRecipeIsReadFromReplica_itIsNotCached() throws RecipeNotFoundException {
+        //given
+        Recipe recipeEntity = buildRecipe();
+        recipeEntity.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        VersionedRecipe fromReplica = versioned(recipeEntity);
+        when(recipeRepository.readByName(anyString()))
+                .thenReturn(Optional.of(new VersionedRecipe(fromReplica.recipe(), fromReplica.version(), true)));
+        recipeService.getRecipe(recipeEntity.getName());
+        //when
+        recipeService.getRecipe(recipeEntity.getName());
+        //then
+        verify(recipeRepository, times(2)).readByName(anyString());
+        assertTrue(recipeCache.get(recipeEntity.getName()).isEmpty());
+    }
+
+    @Test
+    void getRecipeVersion_whenRecipeIsCached_versionIsTakenFromCache() throws RecipeNotFoundException {
+        //given
+        Recipe recipeEntity = buildRecipe();
+        recipeEntity.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        recipeEntity.setVersion(7);
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.of(versioned(recipeEntity)));
+        recipeService.getRecipe(recipeEntity.getName());
+        //when
+        RecipeVersion recipeVersion = recipeService.getRecipeVersion(recipeEntity.getName());
+        //then
+        assertEquals(new RecipeVersion(1L, 7L), recipeVersion);
+        verify(recipeRepository, never()).findVersionByName(anyString());
+    }
+
+    @Test
+    void updateRecipe_whenRecipeIsCached_cachedRecipeIsEvicted() throws RecipeNotFoundException {
+        //given
+        Recipe recipeEntity = buildRecipe();
+        recipeEntity.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.of(versioned(recipeEntity)));
+        when(recipeRepository.findIngredientRowsByName(anyString())).thenReturn(ingredientRows(recipeEntity));
+        when(recipeRepository.updateRecipe(any(), anyLong(), anyBoolean(), any(), any())).thenReturn(1);
+        recipeService.getRecipe(recipeEntity.getName());
+        //when
+        recipeService.updateRecipe(buildRecipeDTO());
+        recipeService.getRecipe(recipeEntity.getName());
+        //then
+        verify(recipeRepository, times(2)).readByName(anyString());
+    }
+
+    @Test
+    void deleteRecipe_whenRecipeIsCached_cachedRecipeIsEvicted() throws RecipeNotFoundException {
+        //given
+        Recipe recipeEntity = buildRecipe();
+        recipeEntity.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.of(versioned(recipeEntity)));
+        when(recipeRepository.deleteRecipeByName(anyString())).thenReturn(1);
+        recipeService.getRecipe(recipeEntity.getName());
+        recipeService.deleteRecipe(recipeEntity.getName());
+        when(recipeRepository.readByName(anyString())).thenReturn(Optional.empty());
+        //when
+        assertThrows(RecipeNotFoundException.class, () -> recipeService.getRecipe(recipeEntity.getName()));
+    }
+
+    @Test
+    void listRecipes_whenMoreRecipesThanPageSize_returnsPageInIdOrderAndNextCursor() throws InvalidCursorException {
+        //given
+        Recipe first = buildRecipe(1L, "margherita");
+        Recipe second = buildRecipe(2L, "four_cheese_pizza");
+        when(recipeRepository.findIdsAfterName(isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(recipeRepository.readAllByIdIn(List.of(1L, 2L))).thenReturn(List.of(versioned(second), versioned(first)));
+        //when
+        RecipePageDTO page = recipeService.listRecipes(RecipeListingOrder.NAME, null, null, null, null, 2);
+        //then
+        assertEquals(List.of("margherita", "four_cheese_pizza"), page.getRecipes().stream().map(RecipeDTO::getName).toList());
+        assertNotNull(page.getNextCursor());
+        verify(recipeRepository, never()).readByName(anyString());
+    }
+
+    @Test
+    void listRecipes_whenCursorIsGiven_seeksAfterCursorKey() throws InvalidCursorException {
+        //given
+        Recipe recipe = buildRecipe(1L, "margherita");
+        String cursor = RecipePageCursor.after(RecipeListingOrder.ID, versioned(recipe)).encode();
+        when(recipeRepository.findIdsAfterId(eq(1L), eq(true), eq(2), isNull(), any(Pageable.class))).thenReturn(List.of());
+        //when
+        RecipePageDTO page = recipeService.listRecipes(RecipeListingOrder.ID, cursor, true, 2, null, null);
+        //then
+        assertEquals(List.of(), page.getRecipes());
+        assertNull(page.getNextCursor());
+        verify(recipeRepository, never()).readAllByIdIn(any());
+    }
+
+    @Test
+    void listRecipes_whenCursorBelongsToAnotherOrder_throwsInvalidCursorException() {
+        //given
+        String cursor = RecipePageCursor.after(RecipeListingOrder.NAME, versioned(buildRecipe(1L, "margherita"))).encode();
+        //when
+        assertThrows(InvalidCursorException.class, () -> recipeService.listRecipes(RecipeListingOrder.ID, cursor, null, null, null, null));
+    }
+
+    private DataIntegrityViolationException duplicateNameViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "recipe.uk_recipe_name"));
+    }
+
+    private List<RecipeIngredientRow> ingredientRows(Recipe recipe) {
+        return recipe.getIngredients().stream().map(ingredient -> (RecipeIngredientRow) new RecipeIngredientRow() {
+            @Override
+            public Long getId() {
+                return recipe.getId();
+            }
+
+            @Override
+            public Long getVersion() {
+                return recipe.getVersion();
+            }
+
+            @Override
+            public Long getIngredientId() {
+                return ingredient.getId();
+            }
+        }).toList();
+    }
+
+    private VersionedRecipe versioned(Recipe recipe) {
+        return new VersionedRecipe(RecipeMapper.MAPPER.toRecipeDTO(recipe), new RecipeVersion(recipe.getId(), recipe.getVersion()));
+    }
+
+    private Recipe buildRecipe(Long id, String name) {
+        Recipe recipe = buildRecipe();
+        recipe.setId(id);
+        recipe.setName(name);
+        recipe.setCreationDateTime(Timestamp.valueOf(LocalDateTime.now()));
+        return recipe;
     }
 
     private Recipe buildRecipe() {
@@ -145,11 +437,21 @@ public class RecipeServiceTest {
         recipe.setName("four_cheese_pizza");
         recipe.setVegetarian(true);
         recipe.setServings(1);
-        recipe.setIngredients(List.of("pizza crust", "mozzarella", "fontina", "parmigiano-reggiano", "gorgonzola"));
+        recipe.setIngredients(buildIngredients("pizza crust", "mozzarella", "fontina", "parmigiano-reggiano", "gorgonzola"));
         recipe.setCookingInstructions("put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C");
         return recipe;
     }
 
+    private List<Ingredient> buildIngredients(String... names) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (String name : names) {
+            Ingredient ingredient = new Ingredient(name);
+            ingredient.setId(ingredients.size() + 1L);
+            ingredients.add(ingredient);
+        }
+        return ingredients;
+    }
+
     private RecipeDTO buildRecipeDTO() {
         RecipeDTO recipeDTO = new RecipeDTO();
         recipeDTO.setName("four_cheese_pizza");
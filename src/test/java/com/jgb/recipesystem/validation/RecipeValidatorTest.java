@@ -42,7 +42,8 @@ public class RecipeValidatorTest {
             "'{\"name\":\"four_cheese_pizza\",\"vegetarian\":true,\"servings\":1,\"ingredients\":[\"pizza crust\",\"\",\"fontina\",\"parmigiano-reggiano\",\"gorgonzola\"],\"cookingInstructions\":\"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}'",
             "'{\"name\":\"four_cheese_pizza\",\"vegetarian\":true,\"servings\":-1,\"ingredients\":[\"pizza crust\",\"mozzarella\",\"fontina\",\"parmigiano-reggiano\",\"gorgonzola\"],\"cookingInstructions\":\"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}'",
             "'{\"name\":\"four_cheese_pizza\",\"servings\":1,\"ingredients\":[\"pizza crust\",\"mozzarella\",\"fontina\",\"parmigiano-reggiano\",\"gorgonzola\"],\"cookingInstructions\":\"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}'",
-            "'{\"name\":\"\",\"vegetarian\":true,\"servings\":1,\"ingredients\":[\"pizza crust\",\"mozzarella\",\"fontina\",\"parmigiano-reggiano\",\"gorgonzola\"],\"cookingInstructions\":\"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}'"
+            "'{\"name\":\"\",\"vegetarian\":true,\"servings\":1,\"ingredients\":[\"pizza crust\",\"mozzarella\",\"fontina\",\"parmigiano-reggiano\",\"gorgonzola\"],\"cookingInstructions\":\"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}'",
+            "'{\"name\":\"four_cheese_pizza_with_a_name_longer_than_the_column\",\"vegetarian\":true,\"servings\":1,\"ingredients\":[\"pizza crust\",\"mozzarella\",\"fontina\",\"parmigiano-reggiano\",\"gorgonzola\"],\"cookingInstructions\":\"put all the ingredients on top of each other and cook in the oven for 15 minutes at 200C\"}'"
     })
     @WithMockUser(username = "admin", roles = { "ADMIN","USER" })
     void createRecipe_whenJsonIsNotValid_shouldReturnBadRequest(String json) throws Exception {